@@ -13,6 +13,102 @@ public interface CrewActivities {
     String company
   );
 
+  /**
+   * Score many jobs against one resume in a single activity. Results are positional: entry i
+   * of the scores and rationales belongs to {@code jobs.get(i)}. Heartbeats the results so
+   * far, and a retried attempt continues after the last heartbeated job.
+   */
+  @ActivityMethod
+  BatchAnalysisResult analyzeBatch(String resumeText, java.util.List<JobRef> jobs);
+
+  /**
+   * {@link #analyzeBatch} that also publishes a "jobAnalyzed" event to {@code channel} for each
+   * job as it is scored, so the workflow does not have to. {@code firstPosition} is the
+   * 1-based position of {@code jobs.get(0)} among the request's {@code total} jobs.
+   */
+  @ActivityMethod
+  BatchAnalysisResult analyzeBatchPublishing(
+    String channel,
+    String requestId,
+    String resumeText,
+    java.util.List<JobRef> jobs,
+    int firstPosition,
+    int total
+  );
+
+  /** The job fields scoring needs; the resume travels once per batch, not per job. */
+  class JobRef implements java.io.Serializable {
+
+    private String jobId;
+    private String title;
+    private String company;
+
+    public JobRef() {}
+
+    public JobRef(String jobId, String title, String company) {
+      this.jobId = jobId;
+      this.title = title;
+      this.company = company;
+    }
+
+    public String getJobId() {
+      return jobId;
+    }
+
+    public void setJobId(String jobId) {
+      this.jobId = jobId;
+    }
+
+    public String getTitle() {
+      return title;
+    }
+
+    public void setTitle(String title) {
+      this.title = title;
+    }
+
+    public String getCompany() {
+      return company;
+    }
+
+    public void setCompany(String company) {
+      this.company = company;
+    }
+  }
+
+  /**
+   * Scores for a batch, in the order the jobs were given. Also the heartbeat details of a
+   * running batch, holding the jobs finished so far.
+   */
+  class BatchAnalysisResult implements java.io.Serializable {
+
+    private double[] scores;
+    private String[] rationales;
+
+    public BatchAnalysisResult() {}
+
+    public BatchAnalysisResult(double[] scores, String[] rationales) {
+      this.scores = scores;
+      this.rationales = rationales;
+    }
+
+    public double[] getScores() {
+      return scores;
+    }
+
+    public void setScores(double[] scores) {
+      this.scores = scores;
+    }
+
+    public String[] getRationales() {
+      return rationales;
+    }
+
+    public void setRationales(String[] rationales) {
+      this.rationales = rationales;
+    }
+  }
+
   class AnalysisResult implements java.io.Serializable {
 
     private double score;
@@ -9,25 +9,42 @@ import io.temporal.activity.ActivityMethod;
 @ActivityInterface
 public interface McpActivities {
 
+  // Fire-and-forget: returns once the MCP client has taken the search, results stream over SSE
   @ActivityMethod
   void executeSearch(String requestId, String source, String query, int maxPages, int perSourceLimit);
 
+  // Crawls one source page by page and returns only when it is done, publishing each page's
+  // jobs over SSE and heartbeating a SearchCursor after it. A retry resumes after the last
+  // heartbeated page, so a page may be published twice but the crawl never starts over.
+  @ActivityMethod
+  SearchCursor crawlSource(String requestId, String source, String query, int startPage, int maxPages, int perSourceLimit);
+
   @ActivityMethod
   PageResult fetchPage(String requestId, String source, String query, int page, int pageSize);
 
   @ActivityMethod
   ParsedJob parseJobUrl(String requestId, String url);
 
+  // Stops the request's searches and pages running on this worker
+  @ActivityMethod
+  void cancelSearch(String requestId);
+
   // Data classes
   final class PageResult {
     public final int page;
     public final boolean hasMore;
     public final List<PostingSummary> items;
+    public final String nextCursor;
 
     public PageResult(int page, boolean hasMore, List<PostingSummary> items) {
+      this(page, hasMore, items, null);
+    }
+
+    public PageResult(int page, boolean hasMore, List<PostingSummary> items, String nextCursor) {
       this.page = page;
       this.hasMore = hasMore;
       this.items = items;
+      this.nextCursor = nextCursor;
     }
   }
 
@@ -53,6 +70,31 @@ public interface McpActivities {
     }
   }
 
+  // Heartbeat details and result of crawlSource
+  final class SearchCursor {
+    public int nextPage;        // page to fetch next
+    public String nextCursor;   // resume point from the last page; null: by page number
+    public int pagesDone;
+    public int itemsEmitted;
+    public boolean exhausted;   // the source reported no more pages
+
+    public SearchCursor() {}
+
+    public SearchCursor(int nextPage) {
+      this.nextPage = nextPage;
+    }
+
+    @Override
+    public String toString() {
+      return "SearchCursor{" +
+          "nextPage=" + nextPage +
+          ", pagesDone=" + pagesDone +
+          ", itemsEmitted=" + itemsEmitted +
+          ", exhausted=" + exhausted +
+          '}';
+    }
+  }
+
   final class ParsedJob {
     public String url;
     public String source;
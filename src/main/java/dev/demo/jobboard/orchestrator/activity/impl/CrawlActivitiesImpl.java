@@ -35,16 +35,21 @@ public class CrawlActivitiesImpl implements CrawlActivities {
                 "ts", Instant.now().toString()
         ));
 
-        McpClient.McpPage result = mcpConfig.isEnableDirectExecution() ? mcpClient.fetchPage(req.getRequestId(), req.getSource(), req.getQuery(), page, req.getPageSize()) : null;
+        // The next batch is only wanted while this one leaves the crawl short of maxItems
+        boolean wantsNext = req.getMaxItems() <= 0 || (long) page * req.getPageSize() < req.getMaxItems();
+        McpClient.McpPage result = mcpConfig.isEnableDirectExecution() ? mcpClient.fetchPage(req.getRequestId(), req.getSource(), req.getQuery(), page, req.getPageSize(), req.getCursor(), wantsNext) : null;
 
         Map<String, Object> payload = new HashMap<>();
         payload.put("stage", "page");
         payload.put("page", page);
         payload.put("count", result == null ? 0 : result.items.size());
+        payload.put("hasMore", result != null && result.hasMore);
         payload.put("ts", Instant.now().toString());
         bus.publish(channel, "crawl", payload);
 
-        return new CrawlBatchResult(page, result == null ? false : result.hasMore, result == null ? List.of() : result.items);
+        return result == null
+                ? new CrawlBatchResult(page, false, List.of())
+                : new CrawlBatchResult(page, result.hasMore, result.items, result.nextCursor);
     }
 
     private static String channel(String requestId) {
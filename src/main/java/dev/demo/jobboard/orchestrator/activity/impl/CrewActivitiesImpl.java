@@ -4,6 +4,8 @@ import static java.util.Map.entry;
 
 import dev.demo.jobboard.orchestrator.activity.CrewActivities;
 import dev.demo.jobboard.orchestrator.sse.SseEventBus;
+import io.temporal.activity.Activity;
+import io.temporal.activity.ActivityExecutionContext;
 import java.util.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +18,9 @@ public class CrewActivitiesImpl implements CrewActivities {
     CrewActivitiesImpl.class
   );
 
+  // Well inside the workflow's heartbeat timeout
+  private static final long HEARTBEAT_NANOS = 1_000_000_000L;
+
   public CrewActivitiesImpl(SseEventBus bus) {
     this.bus = bus;
   }
@@ -121,6 +126,110 @@ public class CrewActivitiesImpl implements CrewActivities {
     return new AnalysisResult(totalScore, rationale);
   }
 
+  @Override
+  public BatchAnalysisResult analyzeBatch(String resumeText, List<JobRef> jobs) {
+    return scoreBatch(resumeText, jobs, (i, result) -> {});
+  }
+
+  @Override
+  public BatchAnalysisResult analyzeBatchPublishing(
+    String channel,
+    String requestId,
+    String resumeText,
+    List<JobRef> jobs,
+    int firstPosition,
+    int total
+  ) {
+    return scoreBatch(resumeText, jobs, (i, result) -> {
+      if (bus == null) {
+        return;
+      }
+      try {
+        bus.publish(
+          channel,
+          "analysis",
+          Map.of(
+            "kind",
+            "jobAnalyzed",
+            "jobId",
+            jobs.get(i).getJobId(),
+            "score",
+            result.getScore(),
+            "rationale",
+            result.getRationale(),
+            "position",
+            firstPosition + i,
+            "total",
+            total
+          )
+        );
+      } catch (Exception e) {
+        // Progress is best effort; the scores still go back to the workflow
+        log.warn("[{}] jobAnalyzed publish failed: {}", requestId, e.toString());
+      }
+    });
+  }
+
+  /** Called with each job's index in the batch and its result, right after it is scored. */
+  @FunctionalInterface
+  private interface ScoredListener {
+    void onScored(int index, AnalysisResult result);
+  }
+
+  private BatchAnalysisResult scoreBatch(
+    String resumeText,
+    List<JobRef> jobs,
+    ScoredListener listener
+  ) {
+    ActivityExecutionContext ctx = Activity.getExecutionContext();
+    int n = jobs.size();
+    double[] scores = new double[n];
+    String[] rationales = new String[n];
+
+    // A retry picks up after the last job the failed attempt heartbeated
+    int done = 0;
+    BatchAnalysisResult previous = ctx
+      .getHeartbeatDetails(BatchAnalysisResult.class)
+      .orElse(null);
+    if (previous != null && previous.getScores() != null && previous.getScores().length <= n) {
+      done = previous.getScores().length;
+      System.arraycopy(previous.getScores(), 0, scores, 0, done);
+      System.arraycopy(previous.getRationales(), 0, rationales, 0, done);
+      log.info(
+        "Resuming batch of {} jobs after {} (attempt {})",
+        n,
+        done,
+        ctx.getInfo().getAttempt()
+      );
+    }
+
+    long lastHeartbeat = System.nanoTime();
+    for (int i = done; i < n; i++) {
+      JobRef job = jobs.get(i);
+      AnalysisResult result = analyze(
+        resumeText,
+        job.getJobId(),
+        job.getTitle(),
+        job.getCompany()
+      );
+      scores[i] = result.getScore();
+      rationales[i] = result.getRationale();
+      listener.onScored(i, result);
+      // Details are a copy of everything so far, so take one at most every HEARTBEAT_NANOS
+      long now = System.nanoTime();
+      if (now - lastHeartbeat >= HEARTBEAT_NANOS) {
+        ctx.heartbeat(
+          new BatchAnalysisResult(
+            Arrays.copyOf(scores, i + 1),
+            Arrays.copyOf(rationales, i + 1)
+          )
+        );
+        lastHeartbeat = now;
+      }
+    }
+    return new BatchAnalysisResult(scores, rationales);
+  }
+
   private double calculateKeywordScore(
     String text,
     Map<String, Double> keywords
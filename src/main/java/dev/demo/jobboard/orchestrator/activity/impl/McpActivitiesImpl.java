@@ -1,18 +1,40 @@
 package dev.demo.jobboard.orchestrator.activity.impl;
 
 import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import dev.demo.jobboard.orchestrator.activity.McpActivities;
+import dev.demo.jobboard.orchestrator.dto.JobDetails;
 import dev.demo.jobboard.orchestrator.dto.JobPosting;
 import dev.demo.jobboard.orchestrator.mcp.McpClient;
+import dev.demo.jobboard.orchestrator.sse.SseEventBus;
+import dev.demo.jobboard.orchestrator.util.Channels;
+import dev.demo.jobboard.orchestrator.util.JobEvents;
+import io.temporal.activity.Activity;
+import io.temporal.activity.ActivityExecutionContext;
 
 public class McpActivitiesImpl implements McpActivities {
 
+  private static final Logger log = LoggerFactory.getLogger(McpActivitiesImpl.class);
+
+  // Postings requested per page by crawlSource; kept fixed so MCP page prefetches match
+  private static final int CRAWL_PAGE_SIZE = 50;
+  // How often a crawl waiting for an MCP slot heartbeats; well inside the heartbeat timeout
+  private static final long ADMISSION_POLL_SECONDS = 10;
+
   private final McpClient mcp;
+  private final SseEventBus bus;
 
-  public McpActivitiesImpl(McpClient mcp) {
+  public McpActivitiesImpl(McpClient mcp, SseEventBus bus) {
     this.mcp = mcp;
+    this.bus = bus;
   }
 
   @Override
@@ -21,6 +43,104 @@ public class McpActivitiesImpl implements McpActivities {
     mcp.executeSearch(requestId, source, query, maxPages, perSourceLimit);
   }
 
+  @Override
+  public SearchCursor crawlSource(String requestId, String source, String query, int startPage, int maxPages, int perSourceLimit) {
+    ActivityExecutionContext ctx = Activity.getExecutionContext();
+    String channel = Channels.forRequest(requestId);
+    int limit = perSourceLimit > 0 ? perSourceLimit : Integer.MAX_VALUE;
+    int lastPage = Math.max(1, startPage) + Math.max(1, maxPages) - 1;
+    SearchCursor resumed = ctx.getHeartbeatDetails(SearchCursor.class).orElse(null);
+    SearchCursor cursor = resumed != null ? resumed : new SearchCursor(Math.max(1, startPage));
+
+    // Held for the whole crawl, so its pages and prefetches count against the MCP caps once
+    try (McpClient.Admission slot = mcp.admit(requestId, source)) {
+      if (slot.position() > 0) {
+        bus.publish(channel, "queued", Map.of(
+            "source", source,
+            "position", slot.position(),
+            "timestamp", Instant.now().toString()
+        ));
+      }
+      awaitAdmission(ctx, slot, cursor);
+      bus.publish(channel, "started", Map.of(
+          "source", source,
+          "waitedMs", slot.waitMillis(),
+          "timestamp", Instant.now().toString()
+      ));
+
+      if (resumed == null) {
+        bus.publish(channel, "crawlStart", Map.of(
+            "source", source,
+            "query", query == null ? "" : query,
+            "maxPages", maxPages,
+            "perSourceLimit", perSourceLimit,
+            "timestamp", Instant.now().toString()
+        ));
+      } else {
+        log.info("[{}] Resuming crawl of {} on attempt {}: {}", requestId, source, ctx.getInfo().getAttempt(), cursor);
+        bus.publish(channel, "crawlResumed", Map.of(
+            "source", source,
+            "page", cursor.nextPage,
+            "itemsEmitted", cursor.itemsEmitted,
+            "attempt", ctx.getInfo().getAttempt(),
+            "timestamp", Instant.now().toString()
+        ));
+      }
+
+      int pageSize = Math.min(limit, CRAWL_PAGE_SIZE);
+      while (!cursor.exhausted && cursor.nextPage <= lastPage && cursor.itemsEmitted < limit) {
+        // No point fetching ahead past the last page or item this crawl will use
+        boolean wantsNext = cursor.nextPage < lastPage && (long) cursor.itemsEmitted + pageSize < limit;
+        McpClient.McpPage res = mcp.fetchPage(requestId, source, query, cursor.nextPage, pageSize, cursor.nextCursor, wantsNext);
+        int count = res.items == null ? 0 : res.items.size();
+        for (int i = 0; i < count && cursor.itemsEmitted < limit; i++) {
+          McpClient.RawEvent raw = res.rawItems == null ? null : res.rawItems.get(i);
+          if (raw != null) {
+            // MCP output goes out as received, without a parse and re-serialize
+            bus.publishRaw(channel, "job", raw.kind(), raw.json());
+          } else {
+            bus.publish(channel, "job", JobEvents.job(res.items.get(i), source));
+          }
+          cursor.itemsEmitted++;
+        }
+        cursor.pagesDone++;
+        cursor.nextPage++;
+        cursor.nextCursor = res.nextCursor;
+        cursor.exhausted = !res.hasMore;
+        // Also where a cancelled crawl finds out, as ActivityCanceledException
+        ctx.heartbeat(cursor);
+      }
+    }
+
+    log.info("[{}] Crawl of {} done: {}", requestId, source, cursor);
+    bus.publish(channel, "complete", Map.of(
+        "source", source,
+        "exitCode", 0,
+        "pages", cursor.pagesDone,
+        "jobs", cursor.itemsEmitted,
+        "timestamp", Instant.now().toString()
+    ));
+    return cursor;
+  }
+
+  // Heartbeats while queued, so a long wait neither times the activity out nor misses a cancel.
+  // McpClient.cancel fails the slot instead, and its CancellationException ends the attempt.
+  private static void awaitAdmission(ActivityExecutionContext ctx, McpClient.Admission slot, SearchCursor cursor) {
+    while (true) {
+      try {
+        slot.admitted().get(ADMISSION_POLL_SECONDS, TimeUnit.SECONDS);
+        return;
+      } catch (TimeoutException e) {
+        ctx.heartbeat(cursor);
+      } catch (ExecutionException e) {
+        throw Activity.wrap(e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw Activity.wrap(e);
+      }
+    }
+  }
+
   @Override
   public PageResult fetchPage(String requestId, String source, String query, int page, int pageSize) {
     // For backward compatibility
@@ -30,21 +150,29 @@ public class McpActivitiesImpl implements McpActivities {
         ? java.util.Collections.emptyList()
         : res.items.stream().map(jp -> toSummary(jp, source)).collect(Collectors.toList());
 
-    return new PageResult(page, res.hasMore, items);
+    return new PageResult(page, res.hasMore, items, res.nextCursor);
+  }
+
+  @Override
+  public void cancelSearch(String requestId) {
+    mcp.cancel(requestId);
   }
 
   @Override
   public ParsedJob parseJobUrl(String requestId, String url) {
-    // Placeholder implementation
+    // Parsed by MCP (cached per URL when mcp.url-cache-enabled); URL heuristics fill any gaps
+    JobDetails details = mcp.fetchByUrl(url);
     ParsedJob parsed = new ParsedJob();
     parsed.url = url;
-    parsed.source = inferSource(url);
-    parsed.title = inferTitle(url);
-    parsed.company = inferCompany(url);
-    parsed.location = "Unknown";
-    parsed.salary = null;
-    parsed.team = null;
-    parsed.description = "Description unavailable (stub).";
+    parsed.source = details != null && details.getSource() != null ? details.getSource() : inferSource(url);
+    parsed.title = details != null && details.getTitle() != null ? details.getTitle() : inferTitle(url);
+    parsed.company = details != null && details.getCompany() != null ? details.getCompany() : inferCompany(url);
+    parsed.location = details != null && details.getLocation() != null ? details.getLocation() : "Unknown";
+    parsed.salary = details != null ? details.getSalary() : null;
+    parsed.team = details != null ? details.getTeam() : null;
+    parsed.description = details != null && details.getDescription() != null
+        ? details.getDescription()
+        : "Description unavailable (stub).";
 
     return parsed;
   }
@@ -61,7 +189,7 @@ public class McpActivitiesImpl implements McpActivities {
     return new PostingSummary(id, title, company, location, url, src, postedAt, snippet);
   }
 
-  // Simple heuristics while we lack a real parse-by-URL from McpClient
+  // Simple heuristics for fields the MCP parse did not return
   private static String inferSource(String url) {
     if (url == null) return null;
     try {
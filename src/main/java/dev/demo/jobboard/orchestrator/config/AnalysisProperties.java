@@ -0,0 +1,75 @@
+package dev.demo.jobboard.orchestrator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import dev.demo.jobboard.orchestrator.workflow.model.ProgressMode;
+
+/**
+ * Defaults for analysis workflows. Workflow code cannot read Spring configuration, so the API
+ * copies these into each {@link dev.demo.jobboard.orchestrator.workflow.model.AnalysisRequest};
+ * a request body may override them per run.
+ */
+@ConfigurationProperties(prefix = "analysis")
+public class AnalysisProperties {
+
+    /**
+     * Maximum scoring activities (each one batch of jobs) running at once for one analysis.
+     */
+    private int scoringConcurrency = 10;
+
+    /**
+     * Jobs scored per analyzeBatch activity; 1 schedules an activity per job.
+     */
+    private int batchSize = 25;
+
+    /**
+     * How per-job progress is published: ACTIVITY, LOCAL_ACTIVITY or SIDE_CHANNEL.
+     */
+    private ProgressMode progressMode = ProgressMode.ACTIVITY;
+
+    /**
+     * Jobs scored per workflow run; larger analyses continue as new after each chunk.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Best matches (with rationales) kept for the final insights and generated resume.
+     */
+    private int topK = 5;
+
+    // Getters and setters
+    public int getScoringConcurrency() {
+        return scoringConcurrency;
+    }
+    public void setScoringConcurrency(int scoringConcurrency) {
+        this.scoringConcurrency = scoringConcurrency;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public ProgressMode getProgressMode() {
+        return progressMode;
+    }
+    public void setProgressMode(ProgressMode progressMode) {
+        this.progressMode = progressMode;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+}
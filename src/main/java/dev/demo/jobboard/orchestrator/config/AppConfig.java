@@ -6,7 +6,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableScheduling
-@EnableConfigurationProperties(McpConfig.class)
+@EnableConfigurationProperties({McpConfig.class, SseProperties.class, AnalysisProperties.class})
 public class AppConfig {
   // Scheduling enabled for SSE keep-alives.
 }
\ No newline at end of file
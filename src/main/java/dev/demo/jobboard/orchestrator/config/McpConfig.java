@@ -1,6 +1,10 @@
 package dev.demo.jobboard.orchestrator.config;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -35,6 +39,126 @@ public class McpConfig {
      */
     private boolean enableDirectExecution = true;
 
+    /**
+     * Maximum MCP searches running at once across all sources; further searches queue.
+     */
+    private int maxConcurrent = 8;
+
+    /**
+     * Maximum concurrent searches per source (job board), e.g. mcp.source-limits.yc=2.
+     */
+    private Map<String, Integer> sourceLimits = new LinkedHashMap<>(Map.of("yc", 2, "hn", 2, "lever", 2, "ashby", 2));
+
+    /**
+     * Per-source limit for sources not listed in source-limits.
+     */
+    private int defaultSourceLimit = 2;
+
+    /**
+     * Maximum searches waiting for a slot; beyond it a search is rejected and its activity retried.
+     */
+    private int maxQueueDepth = 100;
+
+    /**
+     * Cache fetchByUrl results by normalized URL.
+     */
+    private boolean urlCacheEnabled = true;
+
+    /**
+     * Maximum cached URLs; the least recently used are evicted first.
+     */
+    private int urlCacheMaxEntries = 1000;
+
+    /**
+     * Seconds a parsed job stays cached.
+     */
+    private int urlCacheTtlSeconds = 3600;
+
+    /**
+     * Seconds a parse failure stays cached (0 = do not cache failures).
+     */
+    private int urlCacheErrorTtlSeconds = 30;
+
+    /**
+     * Maximum URLs parsed in parallel inside one batch parse (fetchByUrls).
+     */
+    private int parseBatchConcurrency = 4;
+
+    /**
+     * Start fetching page N+1 as soon as page N is returned with more to come.
+     */
+    private boolean pagePrefetchEnabled = true;
+
+    /**
+     * Cancel a run once its SSE channel has had no subscribers for the grace period below.
+     */
+    private boolean cancelOnDisconnect = false;
+
+    /**
+     * Seconds a run may go without subscribers before cancel-on-disconnect cancels it.
+     */
+    private int cancelOnDisconnectGraceSeconds = 15;
+
+    /**
+     * Sources crawled in-process over HTTP instead of by the MCP process (hn, lever, ashby).
+     */
+    private List<String> httpSources = new ArrayList<>();
+
+    /**
+     * API base URL per HTTP source, e.g. mcp.http-base-urls.hn=https://hn.algolia.com.
+     */
+    private Map<String, String> httpBaseUrls = new LinkedHashMap<>(Map.of(
+        "hn", "https://hn.algolia.com",
+        "lever", "https://api.lever.co",
+        "ashby", "https://api.ashbyhq.com"));
+
+    /**
+     * Company boards crawled per board-based HTTP source, e.g. mcp.http-boards.lever=acme,globex.
+     */
+    private Map<String, List<String>> httpBoards = new LinkedHashMap<>();
+
+    /**
+     * Maximum HTTP requests in flight per search or batch parse.
+     */
+    private int httpConcurrency = 4;
+
+    /**
+     * Preferred format for search and page output: ndjson, or cbor (length-prefixed CBOR frames).
+     * cbor is used only if MCP lists it under {@code --mode capabilities}; otherwise NDJSON.
+     */
+    private String wireFormat = "ndjson";
+
+    /**
+     * Threads that drain stdout/stderr of all MCP child processes.
+     */
+    private int pipeThreads = 2;
+
+    /**
+     * Run requests on a pool of long-lived MCP processes ({@code main.py --mode serve}) instead
+     * of starting a new interpreter per request. Only used with direct execution.
+     */
+    private boolean poolEnabled = false;
+
+    /**
+     * Number of long-lived MCP processes kept in the pool.
+     */
+    private int poolSize = 4;
+
+    /**
+     * Replace a pooled process after it has served this many requests (0 = never).
+     */
+    private int poolRecycleAfter = 200;
+
+    /**
+     * Interval in seconds between health-check pings of idle pooled processes.
+     */
+    private int poolHealthCheckSeconds = 30;
+
+    /**
+     * Seconds a pooled process has to answer a health-check ping before it is replaced.
+     */
+    private int poolPingTimeoutSeconds = 5;
+
     // Getters and setters
     public String getCommand() {
         return command;
@@ -71,6 +195,167 @@ public class McpConfig {
         this.enableDirectExecution = enableDirectExecution;
     }
 
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public Map<String, Integer> getSourceLimits() {
+        return sourceLimits;
+    }
+    public void setSourceLimits(Map<String, Integer> sourceLimits) {
+        this.sourceLimits = sourceLimits;
+    }
+
+    public int getDefaultSourceLimit() {
+        return defaultSourceLimit;
+    }
+    public void setDefaultSourceLimit(int defaultSourceLimit) {
+        this.defaultSourceLimit = defaultSourceLimit;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+    public void setMaxQueueDepth(int maxQueueDepth) {
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    public boolean isUrlCacheEnabled() {
+        return urlCacheEnabled;
+    }
+    public void setUrlCacheEnabled(boolean urlCacheEnabled) {
+        this.urlCacheEnabled = urlCacheEnabled;
+    }
+
+    public int getUrlCacheMaxEntries() {
+        return urlCacheMaxEntries;
+    }
+    public void setUrlCacheMaxEntries(int urlCacheMaxEntries) {
+        this.urlCacheMaxEntries = urlCacheMaxEntries;
+    }
+
+    public int getUrlCacheTtlSeconds() {
+        return urlCacheTtlSeconds;
+    }
+    public void setUrlCacheTtlSeconds(int urlCacheTtlSeconds) {
+        this.urlCacheTtlSeconds = urlCacheTtlSeconds;
+    }
+
+    public int getUrlCacheErrorTtlSeconds() {
+        return urlCacheErrorTtlSeconds;
+    }
+    public void setUrlCacheErrorTtlSeconds(int urlCacheErrorTtlSeconds) {
+        this.urlCacheErrorTtlSeconds = urlCacheErrorTtlSeconds;
+    }
+
+    public int getParseBatchConcurrency() {
+        return parseBatchConcurrency;
+    }
+    public void setParseBatchConcurrency(int parseBatchConcurrency) {
+        this.parseBatchConcurrency = parseBatchConcurrency;
+    }
+
+    public boolean isPagePrefetchEnabled() {
+        return pagePrefetchEnabled;
+    }
+    public void setPagePrefetchEnabled(boolean pagePrefetchEnabled) {
+        this.pagePrefetchEnabled = pagePrefetchEnabled;
+    }
+
+    public boolean isCancelOnDisconnect() {
+        return cancelOnDisconnect;
+    }
+    public void setCancelOnDisconnect(boolean cancelOnDisconnect) {
+        this.cancelOnDisconnect = cancelOnDisconnect;
+    }
+
+    public int getCancelOnDisconnectGraceSeconds() {
+        return cancelOnDisconnectGraceSeconds;
+    }
+    public void setCancelOnDisconnectGraceSeconds(int cancelOnDisconnectGraceSeconds) {
+        this.cancelOnDisconnectGraceSeconds = cancelOnDisconnectGraceSeconds;
+    }
+
+    public List<String> getHttpSources() {
+        return httpSources;
+    }
+    public void setHttpSources(List<String> httpSources) {
+        this.httpSources = httpSources;
+    }
+
+    public Map<String, String> getHttpBaseUrls() {
+        return httpBaseUrls;
+    }
+    public void setHttpBaseUrls(Map<String, String> httpBaseUrls) {
+        this.httpBaseUrls = httpBaseUrls;
+    }
+
+    public Map<String, List<String>> getHttpBoards() {
+        return httpBoards;
+    }
+    public void setHttpBoards(Map<String, List<String>> httpBoards) {
+        this.httpBoards = httpBoards;
+    }
+
+    public int getHttpConcurrency() {
+        return httpConcurrency;
+    }
+    public void setHttpConcurrency(int httpConcurrency) {
+        this.httpConcurrency = httpConcurrency;
+    }
+
+    public String getWireFormat() {
+        return wireFormat;
+    }
+    public void setWireFormat(String wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    public int getPipeThreads() {
+        return pipeThreads;
+    }
+    public void setPipeThreads(int pipeThreads) {
+        this.pipeThreads = pipeThreads;
+    }
+
+    public boolean isPoolEnabled() {
+        return poolEnabled;
+    }
+    public void setPoolEnabled(boolean poolEnabled) {
+        this.poolEnabled = poolEnabled;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getPoolRecycleAfter() {
+        return poolRecycleAfter;
+    }
+    public void setPoolRecycleAfter(int poolRecycleAfter) {
+        this.poolRecycleAfter = poolRecycleAfter;
+    }
+
+    public int getPoolHealthCheckSeconds() {
+        return poolHealthCheckSeconds;
+    }
+    public void setPoolHealthCheckSeconds(int poolHealthCheckSeconds) {
+        this.poolHealthCheckSeconds = poolHealthCheckSeconds;
+    }
+
+    public int getPoolPingTimeoutSeconds() {
+        return poolPingTimeoutSeconds;
+    }
+    public void setPoolPingTimeoutSeconds(int poolPingTimeoutSeconds) {
+        this.poolPingTimeoutSeconds = poolPingTimeoutSeconds;
+    }
+
     /**
      * Full command path used to invoke the interpreter/executable.
      */
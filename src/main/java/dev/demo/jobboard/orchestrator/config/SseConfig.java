@@ -1,16 +1,27 @@
 package dev.demo.jobboard.orchestrator.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 import dev.demo.jobboard.orchestrator.sse.SseEventBus;
 
 @Configuration
 public class SseConfig {
 
     @Bean
-    public SseEventBus sseEventBus() {
-        // Default: 30 min timeout, 20s heartbeat
-        return new SseEventBus();
+    public SseEventBus sseEventBus(
+        SseProperties props,
+        ObjectMapper objectMapper,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        // Defaults: 30 min timeout, 20s heartbeat, 256-frame queue per subscriber (see SseProperties).
+        // Boot's ObjectMapper so event JSON matches what the MVC converters produced before.
+        // Heartbeat wheel metrics (sse.heartbeat.*) go to the actuator registry when present.
+        return new SseEventBus(props, objectMapper, meterRegistry.getIfAvailable());
     }
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+package dev.demo.jobboard.orchestrator.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import dev.demo.jobboard.orchestrator.sse.OverflowPolicy;
+
+@ConfigurationProperties(prefix = "sse")
+public class SseProperties {
+
+    /**
+     * How long an emitter may stay open before the container times it out.
+     * Zero or negative disables the timeout.
+     */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Interval between keepalive comments on an otherwise idle connection.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(20);
+
+    /**
+     * Resolution of the heartbeat timing wheel; each tick visits interval/tick of the connections.
+     */
+    private Duration heartbeatTick = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of frames queued per subscriber before the overflow policy applies.
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * What to do when a subscriber's queue is full: DROP_OLDEST, COALESCE or DISCONNECT.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    /**
+     * Number of most recent events retained per channel for replay to late or reconnecting clients.
+     */
+    private int replayBufferSize = 512;
+
+    /**
+     * Threads kept for draining subscriber queues to their sockets. More are started while
+     * sends are blocked on slow sockets, so one stuck client never delays the others.
+     */
+    private int writerThreads = 4;
+
+    /**
+     * A channel with no subscribers and no publishes for this long is evicted from memory.
+     */
+    private Duration channelIdleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * A completed channel with no subscribers is evicted after this long; late clients replay
+     * from the ring (or the journal) until then.
+     */
+    private Duration completedChannelTtl = Duration.ofMinutes(5);
+
+    /**
+     * A subscriber whose queued frames have not moved for this long is disconnected.
+     */
+    private Duration subscriberStallTimeout = Duration.ofMinutes(2);
+
+    /**
+     * How often idle channels and stalled subscribers are swept.
+     */
+    private Duration sweepInterval = Duration.ofSeconds(30);
+
+    /**
+     * Maximum concurrent subscribers (a multiplexed connection counts once); zero disables the cap.
+     */
+    private int maxSubscribers = 10000;
+
+    /**
+     * Cap on bytes queued to subscribers across all channels; past it, subscribers with a
+     * backlog shed frames by their overflow policy. Zero disables the cap.
+     */
+    private DataSize maxBufferedBytes = DataSize.ofMegabytes(64);
+
+    /**
+     * Append every event to an on-disk journal so streams can be replayed after a restart.
+     */
+    private boolean journalEnabled = false;
+
+    /**
+     * Directory holding one sub-directory of segment files per channel.
+     */
+    private String journalDir = "data/sse-journal";
+
+    /**
+     * Size of each memory-mapped journal segment.
+     */
+    private DataSize journalSegmentSize = DataSize.ofMegabytes(4);
+
+    /**
+     * Journals with no appends for this long are deleted.
+     */
+    private Duration journalRetention = Duration.ofDays(1);
+
+    /**
+     * Journals idle for this long are compacted into a single, exactly sized segment.
+     */
+    private Duration journalCompactAfter = Duration.ofMinutes(10);
+
+    /**
+     * How often retention and compaction run.
+     */
+    private Duration journalMaintenanceInterval = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of events replayed from disk to one subscriber beyond the in-memory ring.
+     */
+    private int journalReplayMax = 10000;
+
+    // Getters and setters
+    public Duration getEmitterTimeout() {
+        return emitterTimeout;
+    }
+    public void setEmitterTimeout(Duration emitterTimeout) {
+        this.emitterTimeout = emitterTimeout;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getHeartbeatTick() {
+        return heartbeatTick;
+    }
+    public void setHeartbeatTick(Duration heartbeatTick) {
+        this.heartbeatTick = heartbeatTick;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public int getReplayBufferSize() {
+        return replayBufferSize;
+    }
+    public void setReplayBufferSize(int replayBufferSize) {
+        this.replayBufferSize = replayBufferSize;
+    }
+
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+    public void setWriterThreads(int writerThreads) {
+        this.writerThreads = writerThreads;
+    }
+
+    public Duration getChannelIdleTimeout() {
+        return channelIdleTimeout;
+    }
+    public void setChannelIdleTimeout(Duration channelIdleTimeout) {
+        this.channelIdleTimeout = channelIdleTimeout;
+    }
+
+    public Duration getCompletedChannelTtl() {
+        return completedChannelTtl;
+    }
+    public void setCompletedChannelTtl(Duration completedChannelTtl) {
+        this.completedChannelTtl = completedChannelTtl;
+    }
+
+    public Duration getSubscriberStallTimeout() {
+        return subscriberStallTimeout;
+    }
+    public void setSubscriberStallTimeout(Duration subscriberStallTimeout) {
+        this.subscriberStallTimeout = subscriberStallTimeout;
+    }
+
+    public Duration getSweepInterval() {
+        return sweepInterval;
+    }
+    public void setSweepInterval(Duration sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public DataSize getMaxBufferedBytes() {
+        return maxBufferedBytes;
+    }
+    public void setMaxBufferedBytes(DataSize maxBufferedBytes) {
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    public boolean isJournalEnabled() {
+        return journalEnabled;
+    }
+    public void setJournalEnabled(boolean journalEnabled) {
+        this.journalEnabled = journalEnabled;
+    }
+
+    public String getJournalDir() {
+        return journalDir;
+    }
+    public void setJournalDir(String journalDir) {
+        this.journalDir = journalDir;
+    }
+
+    public DataSize getJournalSegmentSize() {
+        return journalSegmentSize;
+    }
+    public void setJournalSegmentSize(DataSize journalSegmentSize) {
+        this.journalSegmentSize = journalSegmentSize;
+    }
+
+    public Duration getJournalRetention() {
+        return journalRetention;
+    }
+    public void setJournalRetention(Duration journalRetention) {
+        this.journalRetention = journalRetention;
+    }
+
+    public Duration getJournalCompactAfter() {
+        return journalCompactAfter;
+    }
+    public void setJournalCompactAfter(Duration journalCompactAfter) {
+        this.journalCompactAfter = journalCompactAfter;
+    }
+
+    public Duration getJournalMaintenanceInterval() {
+        return journalMaintenanceInterval;
+    }
+    public void setJournalMaintenanceInterval(Duration journalMaintenanceInterval) {
+        this.journalMaintenanceInterval = journalMaintenanceInterval;
+    }
+
+    public int getJournalReplayMax() {
+        return journalReplayMax;
+    }
+    public void setJournalReplayMax(int journalReplayMax) {
+        this.journalReplayMax = journalReplayMax;
+    }
+}
@@ -9,15 +9,20 @@ import dev.demo.jobboard.orchestrator.activity.impl.CrawlActivitiesImpl;
 import dev.demo.jobboard.orchestrator.activity.impl.CrewActivitiesImpl;
 import dev.demo.jobboard.orchestrator.activity.impl.McpActivitiesImpl;
 import dev.demo.jobboard.orchestrator.activity.impl.StreamActivitiesImpl;
+import dev.demo.jobboard.orchestrator.mcp.CachingMcpClient;
 import dev.demo.jobboard.orchestrator.mcp.McpClient;
+import dev.demo.jobboard.orchestrator.mcp.McpClientHttp;
 import dev.demo.jobboard.orchestrator.mcp.McpClientStub;
+import dev.demo.jobboard.orchestrator.mcp.RoutingMcpClient;
 import dev.demo.jobboard.orchestrator.sse.SseEventBus;
 import dev.demo.jobboard.orchestrator.workflow.impl.AnalysisWorkflowImpl;
 import dev.demo.jobboard.orchestrator.workflow.impl.CrawlWorkflowImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.temporal.client.WorkflowClient;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import io.temporal.worker.Worker;
 import io.temporal.worker.WorkerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -46,20 +51,29 @@ public class TemporalConfig {
 
   // Provide an McpClient bean; choose stub or process based on config
   @Bean
-  public McpClient mcpClient(McpConfig cfg, SseEventBus bus) {
+  public McpClient mcpClient(McpConfig cfg, SseEventBus bus, ObjectProvider<MeterRegistry> meterRegistry) {
+    McpClient client;
     if (cfg.isEnableDirectExecution()) {
-      // Use the process-backed client
-      return new dev.demo.jobboard.orchestrator.mcp.McpClientProcess(cfg, bus);
+      // Use the process-backed client; admission metrics (mcp.admission.*) go to the actuator registry
+      client = new dev.demo.jobboard.orchestrator.mcp.McpClientProcess(cfg, bus, meterRegistry.getIfAvailable());
     } else {
       // Default stub
-      return new McpClientStub();
+      client = new McpClientStub();
     }
+    // Sources listed in mcp.http-sources are crawled in the JVM over HTTP instead
+    if (!cfg.getHttpSources().isEmpty()) {
+      client = new RoutingMcpClient(client, new McpClientHttp(cfg, bus), cfg.getHttpSources());
+    }
+    // Parsed job URLs are cached (mcp.url-cache-*) so popular postings are parsed once
+    return cfg.isUrlCacheEnabled()
+      ? new CachingMcpClient(client, cfg, meterRegistry.getIfAvailable())
+      : client;
   }
 
   // Activity beans - available for both API and worker
   @Bean
-  public McpActivities mcpActivities(McpClient mcpClient) {
-    return new McpActivitiesImpl(mcpClient);
+  public McpActivities mcpActivities(McpClient mcpClient, SseEventBus bus) {
+    return new McpActivitiesImpl(mcpClient, bus);
   }
 
   @Bean
@@ -5,19 +5,20 @@ import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowOptions;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -26,7 +27,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import dev.demo.jobboard.orchestrator.service.CrawlCancellationService;
+import dev.demo.jobboard.orchestrator.sse.BatchPolicy;
+import dev.demo.jobboard.orchestrator.sse.ChannelStats;
+import dev.demo.jobboard.orchestrator.sse.EventFilter;
 import dev.demo.jobboard.orchestrator.sse.SseEventBus;
+import dev.demo.jobboard.orchestrator.sse.SubscribeOptions;
+import dev.demo.jobboard.orchestrator.util.Channels;
 import org.springframework.http.MediaType;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -36,18 +43,20 @@ public class CrawlController {
 
   private final WorkflowClient client;
   private final SseEventBus eventBus;
-  private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor();
 
   private final ObjectMapper objectMapper;
+  private final CrawlCancellationService cancellation;
 
   private static final Logger logger = LoggerFactory.getLogger(
     CrawlController.class
   );
 
-  public CrawlController(WorkflowClient client, ObjectMapper objectMapper, SseEventBus eventBus) {
+  public CrawlController(WorkflowClient client, ObjectMapper objectMapper, SseEventBus eventBus,
+      CrawlCancellationService cancellation) {
     this.objectMapper = objectMapper;
     this.client = client;
     this.eventBus = eventBus;
+    this.cancellation = cancellation;
   }
 
   @PostMapping("/crawl")
@@ -60,9 +69,19 @@ public class CrawlController {
     @RequestParam(
       name = "perSourceLimit",
       defaultValue = "50"
-    ) int perSourceLimit
+    ) int perSourceLimit,
+    @RequestParam(name = "batchWindowMs", defaultValue = "0") long batchWindowMs,
+    @RequestParam(name = "batchMax", defaultValue = "100") int batchMax
   ) {
-    String workflowId = "crawl-" + UUID.randomUUID();
+    String workflowId = CrawlCancellationService.CRAWL_ID_PREFIX + UUID.randomUUID();
+
+    // Opt-in: deliver this run's events as "batch" frames to every subscriber
+    if (batchWindowMs > 0) {
+      eventBus.setBatching(
+        Channels.forRequest(workflowId),
+        BatchPolicy.of(batchMax, Duration.ofMillis(batchWindowMs))
+      );
+    }
 
     List<String> sourcesList = Arrays.asList(sources.split(","));
     
@@ -72,6 +91,7 @@ public class CrawlController {
       perSourceLimit,
       1
     );
+    crawlRequest.maxPages = maxPages;
 
     CrawlWorkflow workflow = client.newWorkflowStub(
       CrawlWorkflow.class,
@@ -100,8 +120,68 @@ public class CrawlController {
     );
   }
 
+  /**
+   * Stop a run: cancels its workflow, kills its MCP searches and completes its stream with a
+   * "cancelled" event.
+   */
+  @PostMapping(path = "/crawl/{requestId}/cancel", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Map<String, Object> cancelCrawl(@PathVariable String requestId) {
+      Map<String, Object> result = new LinkedHashMap<>(cancellation.cancel(requestId, "requested"));
+      result.put("ok", true);
+      return result;
+  }
+
+  /**
+   * Called by NotifyActivities when a crawl source finishes. Each source is reported on the
+   * stream; "all" also completes the channel so subscribers close and it can be evicted.
+   */
+  @PostMapping(
+    path = "/crawl/complete-source",
+    consumes = MediaType.APPLICATION_JSON_VALUE,
+    produces = MediaType.APPLICATION_JSON_VALUE
+  )
+  public Map<String, Object> onCrawlSourceComplete(@RequestBody Map<String, String> body) {
+      String requestId = body.getOrDefault("requestId", "");
+      String source = body.getOrDefault("source", "all");
+      String channel = Channels.forRequest(requestId);
+
+      logger.debug("onCrawlSourceComplete: requestId={} source={}", requestId, source);
+
+      boolean all = "all".equalsIgnoreCase(source);
+      eventBus.publish(channel, "crawl", Map.of(
+          "kind", all ? "crawlComplete" : "sourceComplete",
+          "source", source
+      ));
+      if (all) {
+          eventBus.complete(channel, "crawlComplete");
+      }
+      return Map.of("ok", true, "requestId", requestId, "source", source, "completed", all);
+  }
+
+  /** Per-channel memory figures plus bus-wide totals, largest channels first. */
+  @GetMapping(path = "/stream/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Map<String, Object> streamStats() {
+      List<ChannelStats> channels = eventBus.stats();
+      return Map.of(
+          "channels", channels.size(),
+          "subscribers", eventBus.subscriberCount(),
+          "bufferedBytes", eventBus.bufferedBytes(),
+          "maxBufferedBytes", eventBus.maxBufferedBytes(),
+          "perChannel", channels
+      );
+  }
+
   @GetMapping(path = "/stream/{runId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-  public SseEmitter stream(@PathVariable String runId, HttpServletResponse response) {
+  public SseEmitter stream(
+    @PathVariable String runId,
+    @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+    @RequestParam(name = "lastEventId", required = false) String lastEventIdParam,
+    @RequestParam(name = "batchWindowMs", defaultValue = "0") long batchWindowMs,
+    @RequestParam(name = "batchMax", defaultValue = "100") int batchMax,
+    @RequestParam(name = "events", defaultValue = "") String events,
+    @RequestParam(name = "kinds", defaultValue = "") String kinds,
+    HttpServletResponse response
+  ) {
       // Critical SSE headers
       response.setHeader("Cache-Control", "no-cache, no-transform");
       response.setHeader("Connection", "keep-alive");
@@ -109,7 +189,7 @@ public class CrawlController {
 
       SseEmitter emitter = new SseEmitter(0L); // no timeout for dev
 
-      // Initial handshake + heartbeat
+      // Initial handshake; keepalive pings come from the bus' shared heartbeat wheel
       try {
           emitter.send(SseEmitter.event().name("connected").data(Map.of(
               "ok", true, "runId", runId, "ts", System.currentTimeMillis()
@@ -118,29 +198,91 @@ public class CrawlController {
           logger.warn("[{}] Failed to send connected event", runId, e);
       }
 
-      ScheduledFuture<?> hb = heartbeats.scheduleAtFixedRate(() -> {
-          try {
-              emitter.send(SseEmitter.event().comment("ping " + System.currentTimeMillis()));
-          } catch (Exception ex) {
-              // client likely closed; let lifecycle handlers remove
-          }
-      }, 15, 15, TimeUnit.SECONDS);
-
-      // Setup lifecycle handlers
-      emitter.onCompletion(() -> {
-          hb.cancel(false);
-          eventBus.unsubscribe("req:" + runId, emitter);
-      });
-      emitter.onTimeout(() -> hb.cancel(false));
-      emitter.onError((ex) -> {
-          hb.cancel(false);
-          eventBus.unsubscribe("req:" + runId, emitter);
-      });
-
-      // Attach the emitter to the channel to receive events from MCP
-      eventBus.attachEmitter("req:" + runId, emitter);
+      // Attach the emitter to the channel to receive events from MCP; replays anything
+      // already buffered (e.g. crawlStart published before the client connected).
+      // EventSource sends Last-Event-ID on reconnect; the query param covers manual resumes.
+      String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+      SubscribeOptions options = SubscribeOptions.defaults()
+          .lastEventId(lastEventId)
+          // e.g. ?kinds=jobAnalyzed,analysisComplete; "done" always gets through
+          .filter(EventFilter.of(csv(events), csv(kinds)));
+      if (batchWindowMs > 0) {
+          // This subscriber only: collect events into "batch" frames, flushed by count or window
+          options.batching(BatchPolicy.of(batchMax, Duration.ofMillis(batchWindowMs)));
+      }
+      eventBus.attachEmitter(Channels.forRequest(runId), emitter, options);
 
       return emitter;
   }
 
+  /**
+   * One connection for many runs. Each event's data is {requestId, id, data}; "id" is the
+   * per-run event id to pass back as lastEventId when re-adding a run after a reconnect.
+   * The "connected" event carries the sessionId used to add or remove runs later.
+   */
+  @GetMapping(path = "/stream/mux", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamMux(
+    @RequestParam(name = "requestIds", defaultValue = "") String requestIds,
+    @RequestParam(name = "batchWindowMs", defaultValue = "0") long batchWindowMs,
+    @RequestParam(name = "batchMax", defaultValue = "100") int batchMax,
+    @RequestParam(name = "events", defaultValue = "") String events,
+    @RequestParam(name = "kinds", defaultValue = "") String kinds,
+    HttpServletResponse response
+  ) {
+      response.setHeader("Cache-Control", "no-cache, no-transform");
+      response.setHeader("Connection", "keep-alive");
+      response.setHeader("X-Accel-Buffering", "no");
+
+      SseEmitter emitter = new SseEmitter(0L);
+      SubscribeOptions options = SubscribeOptions.defaults().filter(EventFilter.of(csv(events), csv(kinds)));
+      if (batchWindowMs > 0) {
+          options.batching(BatchPolicy.of(batchMax, Duration.ofMillis(batchWindowMs)));
+      }
+      String sessionId = eventBus.openMux(emitter, options);
+
+      List<String> ids = csv(requestIds);
+      try {
+          emitter.send(SseEmitter.event().name("connected").data(Map.of(
+              "ok", true, "sessionId", sessionId, "requestIds", ids, "ts", System.currentTimeMillis()
+          )));
+      } catch (IOException e) {
+          logger.warn("[mux {}] Failed to send connected event", sessionId, e);
+      }
+      for (String id : ids) {
+          eventBus.addToMux(sessionId, Channels.forRequest(id), null);
+      }
+      return emitter;
+  }
+
+  @PostMapping("/stream/mux/{sessionId}/channels")
+  public ResponseEntity<Map<String, Object>> addMuxChannel(
+    @PathVariable String sessionId,
+    @RequestParam String requestId,
+    @RequestParam(name = "lastEventId", required = false) String lastEventId
+  ) {
+      if (!eventBus.addToMux(sessionId, Channels.forRequest(requestId), lastEventId)) {
+          return ResponseEntity.status(404).body(Map.of("ok", false, "error", "unknown mux session"));
+      }
+      return ResponseEntity.ok(Map.of("ok", true, "sessionId", sessionId, "requestId", requestId));
+  }
+
+  @DeleteMapping("/stream/mux/{sessionId}/channels/{requestId}")
+  public ResponseEntity<Map<String, Object>> removeMuxChannel(
+    @PathVariable String sessionId,
+    @PathVariable String requestId
+  ) {
+      if (!eventBus.removeFromMux(sessionId, Channels.forRequest(requestId))) {
+          return ResponseEntity.status(404).body(Map.of("ok", false, "error", "unknown mux session"));
+      }
+      return ResponseEntity.ok(Map.of("ok", true, "sessionId", sessionId, "requestId", requestId));
+  }
+
+  private static List<String> csv(String value) {
+    return Arrays.stream(value.split(","))
+      .map(String::trim)
+      .filter(s -> !s.isEmpty())
+      .distinct()
+      .toList();
+  }
+
 }
\ No newline at end of file
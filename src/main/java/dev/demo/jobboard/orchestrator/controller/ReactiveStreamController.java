@@ -0,0 +1,97 @@
+package dev.demo.jobboard.orchestrator.controller;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.demo.jobboard.orchestrator.config.SseProperties;
+import dev.demo.jobboard.orchestrator.sse.BatchPolicy;
+import dev.demo.jobboard.orchestrator.sse.EventFilter;
+import dev.demo.jobboard.orchestrator.sse.SseEventBus;
+import dev.demo.jobboard.orchestrator.sse.SubscribeOptions;
+import dev.demo.jobboard.orchestrator.util.Channels;
+import jakarta.servlet.http.HttpServletResponse;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive variant of {@code /api/stream/{runId}}, enabled with the "reactive-sse" profile.
+ *
+ * Returns the same channel as a {@code Flux<ServerSentEvent>}. Spring MVC requests one
+ * element per completed socket write, so a slow client stops pulling and its events wait in
+ * the bus' bounded per-subscriber queue. Streams end after sse.emitter-timeout; EventSource
+ * then reconnects and resumes with Last-Event-ID.
+ */
+@RestController
+@RequestMapping("/api/rx")
+@Profile("reactive-sse")
+public class ReactiveStreamController {
+
+  private final SseEventBus eventBus;
+  private final SseProperties sseProperties;
+  private final ObjectMapper objectMapper;
+
+  public ReactiveStreamController(SseEventBus eventBus, SseProperties sseProperties, ObjectMapper objectMapper) {
+    this.eventBus = eventBus;
+    this.sseProperties = sseProperties;
+    this.objectMapper = objectMapper;
+  }
+
+  @GetMapping(path = "/stream/{runId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<ServerSentEvent<String>> stream(
+    @PathVariable String runId,
+    @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+    @RequestParam(name = "lastEventId", required = false) String lastEventIdParam,
+    @RequestParam(name = "batchWindowMs", defaultValue = "0") long batchWindowMs,
+    @RequestParam(name = "batchMax", defaultValue = "100") int batchMax,
+    @RequestParam(name = "events", defaultValue = "") String events,
+    @RequestParam(name = "kinds", defaultValue = "") String kinds,
+    HttpServletResponse response
+  ) throws JsonProcessingException {
+      response.setHeader("Cache-Control", "no-cache, no-transform");
+      response.setHeader("X-Accel-Buffering", "no");
+
+      String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+      SubscribeOptions options = SubscribeOptions.defaults()
+          .lastEventId(lastEventId)
+          .filter(EventFilter.of(csv(events), csv(kinds)));
+      if (batchWindowMs > 0) {
+          options.batching(BatchPolicy.of(batchMax, Duration.ofMillis(batchWindowMs)));
+      }
+
+      ServerSentEvent<String> connected = ServerSentEvent.<String>builder()
+          .event("connected")
+          .data(objectMapper.writeValueAsString(Map.of(
+              "ok", true, "runId", runId, "ts", System.currentTimeMillis())))
+          .retry(Duration.ofSeconds(3))
+          .build();
+
+      Flux<ServerSentEvent<String>> stream = Flux.concat(
+          Flux.just(connected),
+          eventBus.flux(Channels.forRequest(runId), options)
+      );
+      Duration timeout = sseProperties.getEmitterTimeout();
+      return timeout.isZero() || timeout.isNegative() ? stream : stream.take(timeout);
+  }
+
+  private static List<String> csv(String value) {
+    return Arrays.stream(value.split(","))
+      .map(String::trim)
+      .filter(s -> !s.isEmpty())
+      .distinct()
+      .toList();
+  }
+}
\ No newline at end of file
@@ -1,13 +1,16 @@
 package dev.demo.jobboard.orchestrator.controller;
 
+import dev.demo.jobboard.orchestrator.config.AnalysisProperties;
 import dev.demo.jobboard.orchestrator.sse.SseEventBus;
 import dev.demo.jobboard.orchestrator.util.Channels;
 import dev.demo.jobboard.orchestrator.workflow.AnalysisWorkflow;
 import dev.demo.jobboard.orchestrator.workflow.model.AnalysisRequest;
+import dev.demo.jobboard.orchestrator.workflow.model.ProgressMode;
 import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowOptions;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import org.slf4j.Logger;
@@ -33,12 +36,18 @@ public class WorkflowController {
 
   private final WorkflowClient client;
   private final SseEventBus bus;
+  private final AnalysisProperties analysis;
 
   public static final String JOB_BOARD_TASK_QUEUE = "jobboard-tq";
 
-  public WorkflowController(WorkflowClient client, SseEventBus bus) {
+  public WorkflowController(
+    WorkflowClient client,
+    SseEventBus bus,
+    AnalysisProperties analysis
+  ) {
     this.client = client;
     this.bus = bus;
+    this.analysis = analysis;
   }
 
   @PostMapping(
@@ -118,6 +127,27 @@ public class WorkflowController {
     AnalysisRequest req = new AnalysisRequest();
     req.setRequestId(requestId);
     req.setJobIds(jobIds);
+    req.setScoringConcurrency(
+      body.get("scoringConcurrency") instanceof Number n
+        ? n.intValue()
+        : analysis.getScoringConcurrency()
+    );
+    req.setBatchSize(
+      body.get("batchSize") instanceof Number n
+        ? n.intValue()
+        : analysis.getBatchSize()
+    );
+    req.setProgressMode(
+      body.get("progressMode") instanceof String mode
+        ? ProgressMode.valueOf(mode.trim().toUpperCase(Locale.ROOT))
+        : analysis.getProgressMode()
+    );
+    req.setChunkSize(
+      body.get("chunkSize") instanceof Number n
+        ? n.intValue()
+        : analysis.getChunkSize()
+    );
+    req.setTopK(analysis.getTopK());
 
     try {
       io.temporal.workflow.Functions.Proc startProc = () -> workflow.start(req);
@@ -6,6 +6,7 @@ public class CrawlBatchResult {
     private int page;
     private boolean hasMore;
     private List<JobPosting> items;
+    private String nextCursor;
 
     public CrawlBatchResult() {}
 
@@ -15,11 +16,18 @@ public class CrawlBatchResult {
         this.items = items;
     }
 
+    public CrawlBatchResult(int page, boolean hasMore, List<JobPosting> items, String nextCursor) {
+        this(page, hasMore, items);
+        this.nextCursor = nextCursor;
+    }
+
     public int getPage() { return page; }
     public boolean isHasMore() { return hasMore; }
     public List<JobPosting> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
 
     public void setPage(int page) { this.page = page; }
     public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
     public void setItems(List<JobPosting> items) { this.items = items; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ public class CrawlRequest {
     private int maxItems;
     private int startPage;
     private int pageSize;
+    private String cursor;     // nextCursor of the previous batch; null pages by number
 
     public CrawlRequest() {}
 
@@ -25,6 +26,7 @@ public class CrawlRequest {
     public int getMaxItems() { return maxItems; }
     public int getStartPage() { return startPage; }
     public int getPageSize() { return pageSize; }
+    public String getCursor() { return cursor; }
 
     public void setRequestId(String requestId) { this.requestId = requestId; }
     public void setSource(String source) { this.source = source; }
@@ -32,4 +34,5 @@ public class CrawlRequest {
     public void setMaxItems(int maxItems) { this.maxItems = maxItems; }
     public void setStartPage(int startPage) { this.startPage = startPage; }
     public void setPageSize(int pageSize) { this.pageSize = pageSize; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
 }
\ No newline at end of file
@@ -0,0 +1,296 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import dev.demo.jobboard.orchestrator.config.McpConfig;
+import dev.demo.jobboard.orchestrator.dto.JobDetails;
+
+/**
+ * {@link McpClient} decorator that caches {@link #fetchByUrl} by normalized URL.
+ *
+ * Bounded to mcp.url-cache-max-entries (least recently used evicted first). Parsed details
+ * live for mcp.url-cache-ttl-seconds, parse failures for mcp.url-cache-error-ttl-seconds.
+ * Concurrent requests for a URL that is being fetched wait for that one fetch instead of
+ * starting their own. Lookups are counted as {@code mcp.url.cache.requests} tagged
+ * result=hit|miss|shared. Everything else passes straight through.
+ */
+public class CachingMcpClient implements McpClient {
+    private static final Logger log = LoggerFactory.getLogger(CachingMcpClient.class);
+
+    private final McpClient delegate;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long errorTtlNanos;
+    // Guarded by itself; access order, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter shared;
+
+    public CachingMcpClient(McpClient delegate, McpConfig cfg, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxEntries = Math.max(1, cfg.getUrlCacheMaxEntries());
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(cfg.getUrlCacheTtlSeconds());
+        this.errorTtlNanos = TimeUnit.SECONDS.toNanos(cfg.getUrlCacheErrorTtlSeconds());
+        if (meterRegistry != null) {
+            hits = Counter.builder("mcp.url.cache.requests").tag("result", "hit").register(meterRegistry);
+            misses = Counter.builder("mcp.url.cache.requests").tag("result", "miss").register(meterRegistry);
+            shared = Counter.builder("mcp.url.cache.requests").tag("result", "shared").register(meterRegistry);
+            Gauge.builder("mcp.url.cache.size", this, CachingMcpClient::size).register(meterRegistry);
+        } else {
+            hits = null;
+            misses = null;
+            shared = null;
+        }
+    }
+
+    /** A fetch, in flight or done; expires only once done. */
+    private static final class Entry {
+        final CompletableFuture<JobDetails> details = new CompletableFuture<>();
+        volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        boolean isExpired(long now) {
+            return details.isDone() && now - expiresAtNanos >= 0;
+        }
+    }
+
+    @Override
+    public McpPage fetchPage(String requestId, String source, String query, int page, int pageSize, String cursor, boolean prefetchNext) {
+        return delegate.fetchPage(requestId, source, query, page, pageSize, cursor, prefetchNext);
+    }
+
+    @Override
+    public Admission admit(String requestId, String source) {
+        return delegate.admit(requestId, source);
+    }
+
+    @Override
+    public void executeSearch(String requestId, String source, String query, int maxPages, int perSourceLimit) {
+        delegate.executeSearch(requestId, source, query, maxPages, perSourceLimit);
+    }
+
+    @Override
+    public JobDetails fetchByUrl(String url) {
+        String key = normalize(url);
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(key, entry);
+                owner = true;
+                trim();
+            }
+        }
+        if (owner) {
+            count(misses);
+            load(key, url, entry);
+        } else {
+            count(entry.details.isDone() ? hits : shared);
+        }
+        try {
+            return copy(entry.details.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    /**
+     * Cached and in-flight URLs are answered from the cache; only the rest go to the wrapped
+     * client, as one batch, and are cached as their results stream back.
+     */
+    @Override
+    public void fetchByUrls(List<String> urls, int concurrency, UrlParseListener listener) {
+        Map<String, Entry> owned = new LinkedHashMap<>();
+        Map<String, Entry> joined = new LinkedHashMap<>();
+        synchronized (entries) {
+            long now = System.nanoTime();
+            for (String url : urls) {
+                String key = normalize(url);
+                Entry entry = entries.get(key);
+                if (entry != null && entry.isExpired(now)) {
+                    entries.remove(key);
+                    entry = null;
+                }
+                if (entry == null) {
+                    entry = new Entry();
+                    entries.put(key, entry);
+                    owned.put(url, entry);
+                } else {
+                    joined.put(url, entry);
+                }
+            }
+            trim();
+        }
+        joined.forEach((url, entry) -> {
+            count(entry.details.isDone() ? hits : shared);
+            entry.details.whenComplete((details, e) -> {
+                if (e == null) {
+                    listener.onParsed(url, copy(details));
+                } else {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    listener.onError(url, cause.getMessage());
+                }
+            });
+        });
+        if (!owned.isEmpty()) {
+            owned.values().forEach(e -> count(misses));
+            try {
+                delegate.fetchByUrls(List.copyOf(owned.keySet()), concurrency, new UrlParseListener() {
+                    @Override
+                    public void onParsed(String url, JobDetails details) {
+                        Entry entry = owned.get(url);
+                        if (entry != null) {
+                            fill(entry, details);
+                        }
+                        listener.onParsed(url, copy(details));
+                    }
+
+                    @Override
+                    public void onError(String url, String message) {
+                        Entry entry = owned.get(url);
+                        if (entry != null) {
+                            fail(normalize(url), entry, new RuntimeException(message));
+                        }
+                        listener.onError(url, message);
+                    }
+                });
+            } finally {
+                // Never leave an entry in flight: its waiters would hang
+                owned.forEach((url, entry) -> {
+                    if (!entry.details.isDone()) {
+                        fail(normalize(url), entry, new RuntimeException("No result from MCP parse-batch"));
+                    }
+                });
+            }
+        }
+        // Like the wrapped client, return only once every URL has been answered
+        joined.values().forEach(entry -> entry.details.exceptionally(e -> null).join());
+    }
+
+    @Override
+    public boolean cancel(String requestId) {
+        return delegate.cancel(requestId);
+    }
+
+    /** Delegates the lifecycle so the wrapped client's own shutdown still runs. */
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void load(String key, String url, Entry entry) {
+        try {
+            fill(entry, delegate.fetchByUrl(url));
+        } catch (RuntimeException | Error e) {
+            fail(key, entry, e);
+        }
+    }
+
+    private void fill(Entry entry, JobDetails details) {
+        if (entry.details.isDone()) {
+            return;
+        }
+        entry.expiresAtNanos = System.nanoTime() + ttlNanos;
+        entry.details.complete(details);
+    }
+
+    private void fail(String key, Entry entry, Throwable e) {
+        if (entry.details.isDone()) {
+            return;
+        }
+        log.debug("MCP url cache: caching failure for {}s url={} err={}",
+            TimeUnit.NANOSECONDS.toSeconds(errorTtlNanos), key, e.toString());
+        entry.expiresAtNanos = System.nanoTime() + errorTtlNanos;
+        entry.details.completeExceptionally(e);
+        if (errorTtlNanos <= 0) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+        }
+    }
+
+    // Called holding entries; in-flight fetches are never evicted, so their waiters stay shared
+    private void trim() {
+        var it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            if (it.next().getValue().details.isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    private static void count(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /** Cached details are shared; callers get their own copy since JobDetails is mutable. */
+    private static JobDetails copy(JobDetails d) {
+        if (d == null) {
+            return null;
+        }
+        return new JobDetails(d.getUrl(), d.getTitle(), d.getCompany(), d.getLocation(),
+            d.getDescription(), d.getSource(), d.getSalary(), d.getTeam());
+    }
+
+    /**
+     * Cache key: lower-case scheme and host, no default port, fragment, trailing slash or
+     * utm_* tracking parameters, remaining query parameters sorted. Unparseable URLs are
+     * used as given.
+     */
+    static String normalize(String url) {
+        if (url == null) {
+            return "";
+        }
+        try {
+            URI uri = URI.create(url.trim());
+            if (uri.getHost() == null) {
+                return url.trim();
+            }
+            String scheme = uri.getScheme() == null ? "https" : uri.getScheme().toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            boolean defaultPort = port == -1 || ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+            String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+            while (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            String query = uri.getRawQuery() == null ? "" : Arrays.stream(uri.getRawQuery().split("&"))
+                .filter(p -> !p.isEmpty() && !p.toLowerCase(Locale.ROOT).startsWith("utm_"))
+                .sorted()
+                .collect(Collectors.joining("&"));
+            return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + (defaultPort ? "" : ":" + port)
+                + path + (query.isEmpty() ? "" : "?" + query);
+        } catch (IllegalArgumentException e) {
+            return url.trim();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Decoder for {@link McpWireFormat#CBOR} frames: each frame body is one CBOR map.
+ *
+ * Routing fields are read from the token stream like {@link NdjsonDecoder} does, and the same
+ * pass transcodes the map to JSON, since SSE clients receive JSON whatever the wire format.
+ * Strings arrive length-prefixed, so there is no escape scanning or line search on this side.
+ * Byte strings become base64 text. Stateless and thread-safe.
+ */
+final class CborFrameDecoder implements McpFrameDecoder {
+
+    private final CBORFactory cbor = new CBORFactory();
+    private final JsonFactory json;
+
+    CborFrameDecoder(JsonFactory json) {
+        this.json = json;
+    }
+
+    @Override
+    public NdjsonDecoder.Line decode(byte[] buf, int offset, int length) throws IOException {
+        if (length == 0) {
+            return null;
+        }
+        try (JsonParser p = cbor.createParser(buf, offset, length)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(p, "MCP frame is not a CBOR map");
+            }
+            // JSON text is usually a little larger than its CBOR
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length + (length >> 3) + 16);
+            String type = null;
+            String kind = null;
+            String url = null;
+            String field = null;
+            int depth = 0;
+            try (JsonGenerator g = json.createGenerator(out)) {
+                JsonToken t = p.currentToken();
+                do {
+                    if (depth == 1 && t == JsonToken.FIELD_NAME) {
+                        field = p.currentName();
+                    } else if (depth == 1 && t == JsonToken.VALUE_STRING) {
+                        switch (field) {
+                            case "type" -> type = p.getText();
+                            case "kind" -> kind = p.getText();
+                            case "url" -> url = p.getText();
+                            default -> { }
+                        }
+                    }
+                    g.copyCurrentEvent(p);
+                    if (t.isStructStart()) {
+                        depth++;
+                    } else if (t.isStructEnd()) {
+                        depth--;
+                    }
+                } while (depth > 0 && (t = p.nextToken()) != null);
+            }
+            if (depth != 0) {
+                throw new JsonParseException(p, "Truncated CBOR map in MCP frame");
+            }
+            if (p.nextToken() != null) {
+                throw new JsonParseException(p, "Trailing content after MCP frame map");
+            }
+            return new NdjsonDecoder.Line(type, kind, url, out.toByteArray());
+        }
+    }
+
+    @Override
+    public String describe(byte[] buf, int offset, int length) {
+        return "<" + length + "-byte CBOR frame>";
+    }
+}
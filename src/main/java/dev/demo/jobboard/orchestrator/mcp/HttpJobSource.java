@@ -0,0 +1,275 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import dev.demo.jobboard.orchestrator.dto.JobPosting;
+
+/**
+ * One job board's listing API as seen by {@link McpClientHttp}: how to ask for a page and how
+ * to read the answer. Implementations hold no connection state and do no I/O themselves.
+ *
+ * Pages are 1-based. Board-based sources (Lever, Ashby) serve one configured company board per
+ * page, so every page can be requested by number and fetched concurrently.
+ */
+interface HttpJobSource {
+
+    String name();
+
+    /** Number of pages that exist up front, or -1 if only the responses tell. */
+    int knownPages();
+
+    HttpRequest pageRequest(String query, int page, int pageSize, Duration timeout);
+
+    /** Postings matching {@code query}, at most {@code pageSize}, with whether more pages follow. */
+    McpClient.McpPage parsePage(JsonNode body, String query, int page, int pageSize);
+
+    /**
+     * Hacker News job stories through the Algolia search API ({@code tags=job}); the API does the
+     * matching and paging.
+     */
+    final class Hn implements HttpJobSource {
+        private final String baseUrl;
+
+        Hn(String baseUrl) {
+            this.baseUrl = trimSlash(baseUrl);
+        }
+
+        @Override
+        public String name() {
+            return "hn";
+        }
+
+        @Override
+        public int knownPages() {
+            return -1;
+        }
+
+        @Override
+        public HttpRequest pageRequest(String query, int page, int pageSize, Duration timeout) {
+            String uri = baseUrl + "/api/v1/search_by_date?tags=job"
+                + "&query=" + encode(query)
+                + "&page=" + (Math.max(1, page) - 1)
+                + "&hitsPerPage=" + Math.max(1, pageSize);
+            return get(uri, timeout);
+        }
+
+        @Override
+        public McpClient.McpPage parsePage(JsonNode body, String query, int page, int pageSize) {
+            List<JobPosting> items = new ArrayList<>();
+            for (JsonNode hit : body.path("hits")) {
+                String id = text(hit, "objectID");
+                String title = text(hit, "title");
+                String url = text(hit, "url");
+                items.add(new JobPosting(
+                    "hn-" + id,
+                    title,
+                    companyFromTitle(title),
+                    null,
+                    url != null ? url : "https://news.ycombinator.com/item?id=" + id,
+                    name(),
+                    instant(text(hit, "created_at")),
+                    text(hit, "story_text")));
+            }
+            boolean hasMore = body.path("page").asInt(0) + 1 < body.path("nbPages").asInt(0);
+            return new McpClient.McpPage(items, hasMore);
+        }
+
+        // "Acme (YC S21) Is Hiring a Platform Engineer" -> "Acme"
+        private static String companyFromTitle(String title) {
+            if (title == null) {
+                return null;
+            }
+            int cut = title.length();
+            for (String marker : new String[] {" (", " is hiring", " Is Hiring", " is looking", " Is Looking"}) {
+                int i = title.indexOf(marker);
+                if (i > 0) {
+                    cut = Math.min(cut, i);
+                }
+            }
+            return cut < title.length() ? title.substring(0, cut).trim() : null;
+        }
+    }
+
+    /**
+     * Lever's public postings API, one board per page ({@code /v0/postings/<board>?mode=json}).
+     * The API has no search, so postings are matched against the query here.
+     */
+    final class Lever implements HttpJobSource {
+        private final String baseUrl;
+        private final List<String> boards;
+
+        Lever(String baseUrl, List<String> boards) {
+            this.baseUrl = trimSlash(baseUrl);
+            this.boards = List.copyOf(boards);
+        }
+
+        @Override
+        public String name() {
+            return "lever";
+        }
+
+        @Override
+        public int knownPages() {
+            return boards.size();
+        }
+
+        @Override
+        public HttpRequest pageRequest(String query, int page, int pageSize, Duration timeout) {
+            return get(baseUrl + "/v0/postings/" + encode(board(boards, page)) + "?mode=json", timeout);
+        }
+
+        @Override
+        public McpClient.McpPage parsePage(JsonNode body, String query, int page, int pageSize) {
+            String board = board(boards, page);
+            List<JobPosting> items = new ArrayList<>();
+            for (JsonNode p : body) {
+                JsonNode categories = p.path("categories");
+                String title = text(p, "text");
+                String description = text(p, "descriptionPlain");
+                String team = text(categories, "team");
+                if (!matches(query, title, team, description) || full(items, pageSize)) {
+                    continue;
+                }
+                long createdAt = p.path("createdAt").asLong(0);
+                items.add(new JobPosting(
+                    "lever-" + text(p, "id"),
+                    title,
+                    board,
+                    text(categories, "location"),
+                    text(p, "hostedUrl"),
+                    name(),
+                    createdAt > 0 ? Instant.ofEpochMilli(createdAt) : null,
+                    snippet(description)));
+            }
+            return new McpClient.McpPage(items, page < boards.size());
+        }
+    }
+
+    /**
+     * Ashby's public job board API, one board per page
+     * ({@code /posting-api/job-board/<board>}). Matched against the query here.
+     */
+    final class Ashby implements HttpJobSource {
+        private final String baseUrl;
+        private final List<String> boards;
+
+        Ashby(String baseUrl, List<String> boards) {
+            this.baseUrl = trimSlash(baseUrl);
+            this.boards = List.copyOf(boards);
+        }
+
+        @Override
+        public String name() {
+            return "ashby";
+        }
+
+        @Override
+        public int knownPages() {
+            return boards.size();
+        }
+
+        @Override
+        public HttpRequest pageRequest(String query, int page, int pageSize, Duration timeout) {
+            return get(baseUrl + "/posting-api/job-board/" + encode(board(boards, page)), timeout);
+        }
+
+        @Override
+        public McpClient.McpPage parsePage(JsonNode body, String query, int page, int pageSize) {
+            String board = board(boards, page);
+            List<JobPosting> items = new ArrayList<>();
+            for (JsonNode j : body.path("jobs")) {
+                String title = text(j, "title");
+                String description = text(j, "descriptionPlain");
+                String team = text(j, "team") != null ? text(j, "team") : text(j, "department");
+                if (!matches(query, title, team, description) || full(items, pageSize)) {
+                    continue;
+                }
+                items.add(new JobPosting(
+                    "ashby-" + text(j, "id"),
+                    title,
+                    board,
+                    text(j, "location"),
+                    text(j, "jobUrl"),
+                    name(),
+                    instant(text(j, "publishedAt")),
+                    snippet(description)));
+            }
+            return new McpClient.McpPage(items, page < boards.size());
+        }
+    }
+
+    private static HttpRequest get(String uri, Duration timeout) {
+        return HttpRequest.newBuilder(URI.create(uri))
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+    }
+
+    private static String board(List<String> boards, int page) {
+        if (page < 1 || page > boards.size()) {
+            throw new IllegalArgumentException("No board for page " + page + " (" + boards.size() + " configured)");
+        }
+        return boards.get(page - 1);
+    }
+
+    /** Every query word appears in the title, team or description; a blank query matches all. */
+    private static boolean matches(String query, String... fields) {
+        if (query == null || query.isBlank()) {
+            return true;
+        }
+        String haystack = String.join(" ", Arrays.stream(fields).map(f -> f == null ? "" : f).toList())
+            .toLowerCase(Locale.ROOT);
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("\\s+"))
+            .filter(w -> !w.isEmpty())
+            .allMatch(haystack::contains);
+    }
+
+    private static boolean full(List<JobPosting> items, int pageSize) {
+        return pageSize > 0 && items.size() >= pageSize;
+    }
+
+    private static String snippet(String description) {
+        if (description == null) {
+            return null;
+        }
+        String s = description.strip();
+        return s.length() <= 280 ? s : s.substring(0, 280) + "...";
+    }
+
+    private static Instant instant(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return v == null || v.isNull() ? null : v.asText();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+    }
+
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
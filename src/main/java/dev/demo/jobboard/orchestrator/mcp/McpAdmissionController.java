@@ -0,0 +1,199 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import dev.demo.jobboard.orchestrator.config.McpConfig;
+
+/**
+ * Limits how many MCP searches run at once: mcp.max-concurrent overall and
+ * mcp.source-limits.&lt;source&gt; (else mcp.default-source-limit) per job board.
+ *
+ * Searches that cannot start wait in one FIFO queue of at most mcp.max-queue-depth entries.
+ * When a slot frees, the oldest waiting search that fits both caps starts, so a backlog for
+ * one saturated source does not hold up searches for the others. Wait time is recorded as
+ * the {@code mcp.admission.wait} timer, tagged by source.
+ */
+final class McpAdmissionController {
+    private static final Logger log = LoggerFactory.getLogger(McpAdmissionController.class);
+
+    private final McpConfig cfg;
+    private final MeterRegistry registry;
+    // Guarded by this
+    private final List<Ticket> queue = new ArrayList<>();
+    private final Map<String, Integer> runningBySource = new HashMap<>();
+    private int running;
+
+    McpAdmissionController(McpConfig cfg, MeterRegistry registry) {
+        this.cfg = cfg;
+        this.registry = registry;
+        if (registry != null) {
+            Gauge.builder("mcp.admission.queued", this, McpAdmissionController::queued).register(registry);
+            Gauge.builder("mcp.admission.running", this, McpAdmissionController::running).register(registry);
+        }
+    }
+
+    /**
+     * A search's place in line; {@link #admitted()} completes when it may start, or fails with
+     * a CancellationException if the ticket is released while still queued.
+     */
+    final class Ticket {
+        private final String requestId;
+        private final String source;
+        private final long enqueuedNanos = System.nanoTime();
+        private final CompletableFuture<Ticket> admitted = new CompletableFuture<>();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile long waitNanos;
+        // Guarded by the controller's monitor
+        private boolean started;
+        private int position;
+
+        private Ticket(String requestId, String source) {
+            this.requestId = requestId;
+            this.source = source;
+        }
+
+        String requestId() {
+            return requestId;
+        }
+
+        String source() {
+            return source;
+        }
+
+        CompletableFuture<Ticket> admitted() {
+            return admitted;
+        }
+
+        /** 1-based queue position when the search was queued, 0 if it started at once. */
+        int position() {
+            return position;
+        }
+
+        long waitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        }
+
+        /** Free this search's slot (or leave the queue); idempotent. */
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                McpAdmissionController.this.release(this);
+            }
+        }
+    }
+
+    /**
+     * Take a slot for {@code source}, or a place in the queue.
+     *
+     * @throws McpQueueFullException if the search would have to wait and the queue is full
+     */
+    Ticket acquire(String requestId, String source) {
+        Ticket ticket = new Ticket(requestId, normalize(source));
+        boolean now;
+        synchronized (this) {
+            // Every queued search is blocked by a cap (release() starts any that fit), so one
+            // that fits now takes a slot no earlier search could use
+            now = fits(ticket.source);
+            if (now) {
+                start(ticket);
+            } else if (queue.size() >= cfg.getMaxQueueDepth()) {
+                throw new McpQueueFullException("MCP admission queue full (" + queue.size() + " waiting)");
+            } else {
+                queue.add(ticket);
+                ticket.position = queue.size();
+            }
+        }
+        if (now) {
+            admitted(ticket);
+        } else {
+            log.info("[{}] MCP search queued: source={} position={} running={}", requestId, ticket.source, ticket.position, running());
+        }
+        return ticket;
+    }
+
+    synchronized int queued() {
+        return queue.size();
+    }
+
+    synchronized int running() {
+        return running;
+    }
+
+    private void release(Ticket ticket) {
+        List<Ticket> started = new ArrayList<>();
+        boolean dequeued;
+        synchronized (this) {
+            dequeued = queue.remove(ticket);
+            if (!dequeued) {
+                if (!ticket.started) {
+                    return;
+                }
+                running--;
+                runningBySource.computeIfPresent(ticket.source, (k, n) -> n > 1 ? n - 1 : null);
+            }
+            // Oldest waiting search that fits, skipping sources that are still at their cap
+            for (Iterator<Ticket> it = queue.iterator(); it.hasNext(); ) {
+                Ticket next = it.next();
+                if (fits(next.source)) {
+                    it.remove();
+                    start(next);
+                    started.add(next);
+                }
+            }
+        }
+        // Whoever waits on a search that left the queue must not wait forever
+        if (dequeued) {
+            ticket.admitted.completeExceptionally(new CancellationException(
+                "MCP search for " + ticket.source + " left the queue before it started"));
+        }
+        started.forEach(this::admitted);
+    }
+
+    private boolean fits(String source) {
+        return running < Math.max(1, cfg.getMaxConcurrent())
+            && runningBySource.getOrDefault(source, 0) < limitFor(source);
+    }
+
+    private int limitFor(String source) {
+        Integer limit = cfg.getSourceLimits().get(source);
+        return Math.max(1, limit != null ? limit : cfg.getDefaultSourceLimit());
+    }
+
+    // Called under the monitor
+    private void start(Ticket ticket) {
+        ticket.started = true;
+        running++;
+        runningBySource.merge(ticket.source, 1, Integer::sum);
+        ticket.waitNanos = System.nanoTime() - ticket.enqueuedNanos;
+    }
+
+    // Completes outside the monitor: the continuation starts a process
+    private void admitted(Ticket ticket) {
+        if (registry != null) {
+            Timer.builder("mcp.admission.wait")
+                .tag("source", ticket.source)
+                .register(registry)
+                .record(ticket.waitNanos, TimeUnit.NANOSECONDS);
+        }
+        ticket.admitted.complete(ticket);
+    }
+
+    private static String normalize(String source) {
+        return source == null || source.isBlank() ? "default" : source.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,6 +1,7 @@
 package dev.demo.jobboard.orchestrator.mcp;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import dev.demo.jobboard.orchestrator.dto.JobDetails;
 import dev.demo.jobboard.orchestrator.dto.JobPosting;
@@ -9,20 +10,116 @@ public interface McpClient {
 
     // New: fetch a list of jobs from a given sources and search string 
     // from MCP process
-    McpPage fetchPage(String requestId, String source, String query, int page, int pageSize);
+    default McpPage fetchPage(String requestId, String source, String query, int page, int pageSize) {
+        return fetchPage(requestId, source, query, page, pageSize, null);
+    }
+
+    // New: fetch a page, resuming from the nextCursor of the previous page (null: by page number)
+    default McpPage fetchPage(String requestId, String source, String query, int page, int pageSize, String cursor) {
+        return fetchPage(requestId, source, query, page, pageSize, cursor, true);
+    }
+
+    // New: as above; prefetchNext says the caller will ask for the following page next, so a
+    // client may start fetching it ahead. Pass false on the last page the caller wants.
+    McpPage fetchPage(String requestId, String source, String query, int page, int pageSize, String cursor, boolean prefetchNext);
+
+    // New: a crawl's place under the client's concurrency caps (mcp.max-concurrent and the
+    // per-source limits), held from before its first page until closed. May throw
+    // McpQueueFullException. Clients without caps admit at once.
+    default Admission admit(String requestId, String source) {
+        return Admission.IMMEDIATE;
+    }
 
     // New: execute a search that streams results through the event bus
     void executeSearch(String requestId, String source, String query, int maxPages, int perSourceLimit);
 
     // New: fetch single job details by URL via MCP process
     JobDetails fetchByUrl(String url);
+
+    // New: parse many job URLs in one MCP invocation, at most `concurrency` at a time.
+    // Each result goes to the listener as soon as it is ready; returns when all are done.
+    void fetchByUrls(List<String> urls, int concurrency, UrlParseListener listener);
+
+    // New: stop everything running or queued for a request (searches, pages, their processes).
+    // Returns true if anything was cancelled.
+    boolean cancel(String requestId);
+
+    // Release processes, threads and connections; called once when the application stops
+    default void shutdown() {
+    }
+
+    /**
+     * Receives batch parse results in completion order, keyed by the requested URL. Every URL
+     * gets exactly one call. May be called from an MCP I/O thread, so it must not block.
+     */
+    interface UrlParseListener {
+        void onParsed(String url, JobDetails details);
+
+        void onError(String url, String message);
+    }
+
+    /** Admission of one crawl; closing it frees the slot, or leaves the queue. Idempotent. */
+    interface Admission extends AutoCloseable {
+        Admission IMMEDIATE = new Admission() {
+            private final CompletableFuture<Void> admitted = CompletableFuture.completedFuture(null);
+
+            @Override
+            public CompletableFuture<?> admitted() {
+                return admitted;
+            }
+
+            @Override
+            public int position() {
+                return 0;
+            }
+
+            @Override
+            public long waitMillis() {
+                return 0;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        /** Completes when the crawl may start; fails with a CancellationException if cancelled first. */
+        CompletableFuture<?> admitted();
+
+        /** 1-based queue position when the crawl was queued, 0 if it was admitted at once. */
+        int position();
+
+        long waitMillis();
+
+        @Override
+        void close();
+    }
+
+    /** The MCP output line of a posting, as received; forwarded without re-encoding. */
+    record RawEvent(String kind, byte[] json) {}
+
     class McpPage {
         public final List<JobPosting> items;
         public final boolean hasMore;
+        // Opaque resume point for the next page; null if the source pages by number only
+        public final String nextCursor;
+        // The line each item was read from, in the same order, to forward as is; null if the
+        // client has none, and an entry is null where the line cannot go out unchanged
+        public final List<RawEvent> rawItems;
 
         public McpPage(List<JobPosting> items, boolean hasMore) {
+            this(items, hasMore, null);
+        }
+
+        public McpPage(List<JobPosting> items, boolean hasMore, String nextCursor) {
+            this(items, hasMore, nextCursor, null);
+        }
+
+        public McpPage(List<JobPosting> items, boolean hasMore, String nextCursor, List<RawEvent> rawItems) {
             this.items = items;
             this.hasMore = hasMore;
+            this.nextCursor = nextCursor;
+            this.rawItems = rawItems;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,366 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.demo.jobboard.orchestrator.config.McpConfig;
+import dev.demo.jobboard.orchestrator.dto.JobDetails;
+import dev.demo.jobboard.orchestrator.dto.JobPosting;
+import dev.demo.jobboard.orchestrator.sse.SseEventBus;
+import dev.demo.jobboard.orchestrator.util.JobEvents;
+
+/**
+ * {@link McpClient} that crawls job boards directly over HTTP, without the MCP process.
+ *
+ * One shared HTTP/2 {@link HttpClient} (connections are reused across requests) and one
+ * {@link HttpJobSource} per supported source: hn, plus lever and ashby for the boards listed in
+ * mcp.http-boards. Base URLs come from mcp.http-base-urls, so sources can be pointed at local
+ * fixture servers. A search fetches up to mcp.http-concurrency pages at once and publishes
+ * each posting as a "job" event as soon as its page is parsed. Unlike the process client,
+ * {@link #executeSearch} returns only once the search has finished.
+ */
+public class McpClientHttp implements McpClient {
+    private static final Logger log = LoggerFactory.getLogger(McpClientHttp.class);
+
+    // Postings requested per page when searching; perSourceLimit caps the total
+    private static final int SEARCH_PAGE_SIZE = 50;
+
+    private static final Pattern TITLE = Pattern.compile("<title[^>]*>(.*?)</title>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern META = Pattern.compile("<meta\\s[^>]*>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ATTR = Pattern.compile("([a-zA-Z:-]+)\\s*=\\s*(\"([^\"]*)\"|'([^']*)')");
+
+    private final SseEventBus sseEventBus;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, HttpJobSource> sources = new HashMap<>();
+    // Cancellation flag of each running search, keyed by requestId:source
+    private final ConcurrentMap<String, AtomicBoolean> searches = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final HttpClient http;
+    private final Duration timeout;
+    private final int concurrency;
+
+    public McpClientHttp(McpConfig cfg, SseEventBus sseEventBus) {
+        this.sseEventBus = sseEventBus;
+        this.timeout = Duration.ofSeconds(Math.max(5, cfg.getTimeoutSeconds()));
+        this.concurrency = Math.max(1, cfg.getHttpConcurrency());
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread t = new Thread(r, "mcp-http-" + threads.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(timeout)
+            .executor(executor)
+            .build();
+        Map<String, String> baseUrls = cfg.getHttpBaseUrls();
+        Map<String, List<String>> boards = cfg.getHttpBoards();
+        if (baseUrls.containsKey("hn")) {
+            register(new HttpJobSource.Hn(baseUrls.get("hn")));
+        }
+        if (baseUrls.containsKey("lever")) {
+            register(new HttpJobSource.Lever(baseUrls.get("lever"), boards.getOrDefault("lever", List.of())));
+        }
+        if (baseUrls.containsKey("ashby")) {
+            register(new HttpJobSource.Ashby(baseUrls.get("ashby"), boards.getOrDefault("ashby", List.of())));
+        }
+        log.info("MCP HTTP engine: sources={} concurrency={}", sources.keySet(), concurrency);
+    }
+
+    private void register(HttpJobSource source) {
+        sources.put(source.name(), source);
+    }
+
+    /** Whether this client can crawl {@code source}. */
+    public boolean supports(String source) {
+        return source != null && sources.containsKey(source.trim().toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public McpPage fetchPage(String requestId, String source, String query, int page, int pageSize, String cursor, boolean prefetchNext) {
+        // HTTP sources page by number, so their cursor is the next page number (as in the stub).
+        // A cursor from another engine is not a number and leaves the page as given.
+        if (cursor != null) {
+            try { page = Integer.parseInt(cursor); } catch (NumberFormatException ignored) {}
+        }
+        int p = Math.max(1, page);
+        try {
+            McpPage result = fetchPageAsync(sourceFor(source), query, p, pageSize).join();
+            return new McpPage(result.items, result.hasMore, result.hasMore ? String.valueOf(p + 1) : null);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new RuntimeException("MCP HTTP page failed: " + e.getCause(), e.getCause());
+        }
+    }
+
+    private CompletableFuture<McpPage> fetchPageAsync(HttpJobSource source, String query, int page, int pageSize) {
+        HttpRequest request = source.pageRequest(query, page, pageSize, timeout);
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(response -> {
+                if (response.statusCode() / 100 != 2) {
+                    throw new RuntimeException("HTTP " + response.statusCode() + " from " + request.uri());
+                }
+                try {
+                    return source.parsePage(mapper.readTree(response.body()), query, page, pageSize);
+                } catch (IOException e) {
+                    throw new RuntimeException("Unreadable response from " + request.uri() + ": " + e.getMessage(), e);
+                }
+            });
+    }
+
+    @Override
+    public void executeSearch(String requestId, String source, String query, int maxPages, int perSourceLimit) {
+        String channel = "req:" + requestId; // Consistent with Channels.forRequest
+        HttpJobSource src;
+        try {
+            src = sourceFor(source);
+        } catch (IllegalArgumentException e) {
+            sseEventBus.publish(channel, "error", Map.of(
+                "message", e.getMessage(),
+                "timestamp", Instant.now().toString()
+            ));
+            return;
+        }
+        String key = requestId + ":" + source;
+        AtomicBoolean cancelled = new AtomicBoolean();
+        if (searches.putIfAbsent(key, cancelled) != null) {
+            log.warn("[{}] Search already in progress for this request ID and source {}", requestId, source);
+            return;
+        }
+        sseEventBus.publish(channel, "crawlStart", Map.of(
+            "source", source,
+            "query", query == null ? "" : query,
+            "maxPages", maxPages,
+            "perSourceLimit", perSourceLimit,
+            "timestamp", Instant.now().toString()
+        ));
+
+        int limit = perSourceLimit > 0 ? perSourceLimit : Integer.MAX_VALUE;
+        int pageSize = Math.min(limit, SEARCH_PAGE_SIZE);
+        AtomicInteger nextPage = new AtomicInteger(1);
+        // Lowered when a page reports it is the last one
+        AtomicInteger lastPage = new AtomicInteger(src.knownPages() >= 0 ? Math.min(maxPages, src.knownPages()) : maxPages);
+        AtomicInteger published = new AtomicInteger();
+        AtomicInteger failedPages = new AtomicInteger();
+        long started = System.nanoTime();
+
+        inParallel(concurrency, () -> {
+            int page = nextPage.getAndIncrement();
+            if (cancelled.get() || page > lastPage.get() || published.get() >= limit) {
+                return null;
+            }
+            return fetchPageAsync(src, query, page, pageSize).whenComplete((result, e) -> {
+                if (cancelled.get()) {
+                    return;
+                }
+                if (e != null) {
+                    failedPages.incrementAndGet();
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.warn("[{}] MCP HTTP {} page {} failed: {}", requestId, source, page, cause.getMessage());
+                    sseEventBus.publish(channel, "error", Map.of(
+                        "message", "Page " + page + " of " + source + " failed: " + cause.getMessage(),
+                        "timestamp", Instant.now().toString()
+                    ));
+                    return;
+                }
+                if (!result.hasMore) {
+                    lastPage.accumulateAndGet(page, Math::min);
+                }
+                // Fetched speculatively past a page that turned out to be the last one
+                if (page > lastPage.get()) {
+                    return;
+                }
+                for (JobPosting job : result.items) {
+                    if (published.getAndIncrement() >= limit) {
+                        break;
+                    }
+                    sseEventBus.publish(channel, "job", JobEvents.job(job, source));
+                }
+            });
+        }).join();
+        searches.remove(key, cancelled);
+
+        if (cancelled.get()) {
+            log.info("[{}] MCP HTTP search {} cancelled after {} jobs", requestId, source, Math.min(published.get(), limit));
+            sseEventBus.publish(channel, "cancelled", Map.of(
+                "source", source,
+                "timestamp", Instant.now().toString()
+            ));
+            return;
+        }
+        log.info("[{}] MCP HTTP search {} done: jobs={} failedPages={} in {}ms", requestId, source,
+            Math.min(published.get(), limit), failedPages.get(), (System.nanoTime() - started) / 1_000_000);
+        sseEventBus.publish(channel, "complete", Map.of(
+            "exitCode", failedPages.get() == 0 ? 0 : 1,
+            "timestamp", Instant.now().toString()
+        ));
+    }
+
+    /** Stops the request's searches from starting further pages; pages in flight are dropped. */
+    @Override
+    public boolean cancel(String requestId) {
+        String prefix = requestId + ":";
+        boolean any = false;
+        for (Map.Entry<String, AtomicBoolean> e : searches.entrySet()) {
+            if (e.getKey().startsWith(prefix) && e.getValue().compareAndSet(false, true)) {
+                any = true;
+            }
+        }
+        return any;
+    }
+
+    @Override
+    public JobDetails fetchByUrl(String url) {
+        try {
+            return fetchByUrlAsync(url).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new RuntimeException("MCP parse failed: " + e.getCause(), e.getCause());
+        }
+    }
+
+    @Override
+    public void fetchByUrls(List<String> urls, int concurrency, UrlParseListener listener) {
+        if (urls == null || urls.isEmpty()) return;
+        int parallel = Math.max(1, Math.min(concurrency > 0 ? concurrency : this.concurrency, this.concurrency));
+        Queue<String> queue = new ConcurrentLinkedQueue<>(urls);
+        inParallel(parallel, () -> {
+            String url = queue.poll();
+            if (url == null) {
+                return null;
+            }
+            return fetchByUrlAsync(url).whenComplete((details, e) -> {
+                if (e == null) {
+                    listener.onParsed(url, details);
+                } else {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    listener.onError(url, cause.getMessage());
+                }
+            });
+        }).join();
+    }
+
+    /** Title, company and description from the page's OpenGraph/meta tags. */
+    private CompletableFuture<JobDetails> fetchByUrlAsync(String url) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Accept", "text/html")
+                .GET()
+                .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new RuntimeException("MCP parse failed: bad url " + url, e));
+        }
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+            .thenApply(response -> {
+                if (response.statusCode() / 100 != 2) {
+                    throw new RuntimeException("MCP parseError for url=" + url + ": HTTP " + response.statusCode());
+                }
+                return parseHtml(url, response.body());
+            });
+    }
+
+    static JobDetails parseHtml(String url, String html) {
+        Map<String, String> meta = new LinkedHashMap<>();
+        Matcher tags = META.matcher(html);
+        while (tags.find()) {
+            String key = null;
+            String content = null;
+            Matcher attrs = ATTR.matcher(tags.group());
+            while (attrs.find()) {
+                String name = attrs.group(1).toLowerCase(Locale.ROOT);
+                String value = attrs.group(3) != null ? attrs.group(3) : attrs.group(4);
+                if (name.equals("property") || name.equals("name")) {
+                    key = value.toLowerCase(Locale.ROOT);
+                } else if (name.equals("content")) {
+                    content = value;
+                }
+            }
+            if (key != null && content != null) {
+                meta.putIfAbsent(key, unescape(content).strip());
+            }
+        }
+        Matcher title = TITLE.matcher(html);
+        String host = URI.create(url).getHost();
+        return new JobDetails(
+            url,
+            meta.getOrDefault("og:title", title.find() ? unescape(title.group(1)).strip() : null),
+            meta.get("og:site_name"),
+            meta.get("job:location"),
+            meta.getOrDefault("og:description", meta.get("description")),
+            host,
+            null,
+            null
+        );
+    }
+
+    /** Stops the HTTP client's threads; requests still in flight fail. */
+    @Override
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private HttpJobSource sourceFor(String source) {
+        HttpJobSource src = source == null ? null : sources.get(source.trim().toLowerCase(Locale.ROOT));
+        if (src == null) {
+            throw new IllegalArgumentException("Source not supported by the HTTP engine: " + source);
+        }
+        return src;
+    }
+
+    /**
+     * Run up to {@code parallel} chains of work; each chain keeps taking the next step from
+     * {@code step} until it returns null. Failed steps do not stop their chain.
+     */
+    private CompletableFuture<Void> inParallel(int parallel, Supplier<CompletableFuture<?>> step) {
+        CompletableFuture<?>[] chains = new CompletableFuture<?>[parallel];
+        for (int i = 0; i < parallel; i++) {
+            chains[i] = chain(step);
+        }
+        return CompletableFuture.allOf(chains);
+    }
+
+    private CompletableFuture<Void> chain(Supplier<CompletableFuture<?>> step) {
+        CompletableFuture<?> next = step.get();
+        if (next == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // Async so a run of already-completed steps does not grow the stack
+        return next.handle((r, e) -> null).thenComposeAsync(x -> chain(step), executor);
+    }
+
+    private static String unescape(String s) {
+        return s.replace("&quot;", "\"").replace("&#39;", "'").replace("&lt;", "<")
+            .replace("&gt;", ">").replace("&amp;", "&");
+    }
+}
@@ -1,21 +1,28 @@
 package dev.demo.jobboard.orchestrator.mcp;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.ScheduledExecutorService;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.UUID;
 
 import org.slf4j.Logger;
@@ -25,8 +32,11 @@ import org.springframework.util.StringUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import dev.demo.jobboard.orchestrator.config.McpConfig;
 import dev.demo.jobboard.orchestrator.dto.JobDetails;
+import dev.demo.jobboard.orchestrator.dto.JobPosting;
 import dev.demo.jobboard.orchestrator.sse.SseEventBus;
 
 public class McpClientProcess implements McpClient {
@@ -34,32 +44,234 @@ public class McpClientProcess implements McpClient {
     private static final Logger log = LoggerFactory.getLogger(McpClientProcess.class);
     private final McpConfig cfg;
     private final ObjectMapper mapper = new ObjectMapper();
+    private final NdjsonDecoder decoder = new NdjsonDecoder(mapper.getFactory());
     private final SseEventBus sseEventBus;  // Direct access to existing event bus
     private final ConcurrentMap<String, Process> processRegistry = new ConcurrentHashMap<>();
-    private final ExecutorService processExecutor = Executors.newCachedThreadPool(r -> {
-        Thread t = new Thread(r, "mcp-client-" + System.nanoTime());
+    // Searches queued or running, keyed by requestId:source
+    private final ConcurrentMap<String, McpAdmissionController.Ticket> activeSearches = new ConcurrentHashMap<>();
+    private final McpAdmissionController admission;
+    // Drains stdout/stderr of every child on mcp.pipe-threads threads
+    private final ProcessPipeReactor pipes;
+    // Long-lived worker processes; null when mcp.pool-enabled=false (spawn per request)
+    private final McpProcessPool pool;
+    // Next page of each paged crawl, fetched ahead; keyed by requestId:source
+    private final ConcurrentMap<String, Prefetch> prefetches = new ConcurrentHashMap<>();
+    // Destroys prefetches nobody claimed, every mcp.timeout-seconds
+    private final ScheduledExecutorService prefetchReaper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "mcp-prefetch-reaper");
         t.setDaemon(true);
         return t;
     });
+    // Search and page output format, agreed with MCP on first use
+    private volatile Wire wire;
 
     public McpClientProcess(McpConfig cfg, SseEventBus sseEventBus) {
+        this(cfg, sseEventBus, null);
+    }
+
+    public McpClientProcess(McpConfig cfg, SseEventBus sseEventBus, MeterRegistry meterRegistry) {
         this.cfg = cfg;
         this.sseEventBus = sseEventBus;
+        this.admission = new McpAdmissionController(cfg, meterRegistry);
+        this.pipes = new ProcessPipeReactor(cfg.getPipeThreads());
+        this.pool = cfg.isPoolEnabled() ? new McpProcessPool(cfg, mapper, pipes) : null;
+        if (pool != null) {
+            log.info("MCP pooled mode: size={} recycleAfter={}", cfg.getPoolSize(), cfg.getPoolRecycleAfter());
+        }
+        long reapSeconds = Math.max(5, cfg.getTimeoutSeconds());
+        prefetchReaper.scheduleWithFixedDelay(this::reapPrefetches, reapSeconds, reapSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Cancel a request's searches and pages: queued searches leave the admission queue, running
+     * ones free their slot, and their processes are destroyed with all of their descendants (or
+     * their pooled worker is replaced). Each cancelled search publishes "cancelled" instead of
+     * "complete".
+     */
+    @Override
+    public boolean cancel(String requestId) {
+        String prefix = requestId + ":";
+        boolean any = false;
+        for (Map.Entry<String, McpAdmissionController.Ticket> e : activeSearches.entrySet()) {
+            if (e.getKey().startsWith(prefix) && activeSearches.remove(e.getKey(), e.getValue())) {
+                e.getValue().release();
+                any = true;
+            }
+        }
+        prefetches.keySet().removeIf(k -> k.startsWith(prefix));
+        for (Map.Entry<String, Process> e : processRegistry.entrySet()) {
+            // Removed first, so the completion handler knows it was cancelled
+            if (e.getKey().startsWith(prefix) && processRegistry.remove(e.getKey(), e.getValue())) {
+                destroyTree(e.getValue());
+                any = true;
+            }
+        }
+        if (pool != null && pool.cancel(prefix) > 0) {
+            any = true;
+        }
+        log.info("[{}] MCP cancel: {}", requestId, any ? "cancelled" : "nothing running");
+        return any;
+    }
+
+    private static void destroyTree(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    /** Destroy pooled workers and any per-request processes still running. */
+    @Override
+    public void shutdown() {
+        prefetchReaper.shutdownNow();
+        if (pool != null) {
+            pool.shutdown();
+        }
+        processRegistry.values().forEach(Process::destroyForcibly);
+        pipes.shutdown();
     }
 
     @Override
     public void executeSearch(String requestId, String source, String query, int maxPages, int perSourceLimit) {
+        String key = searchKey(requestId, source);
+        String channel = "req:" + requestId; // Consistent with Channels.forRequest
         // Prevent duplicate executions
-        if (processRegistry.containsKey(requestId)) {
-            log.warn("[{}] Search already in progress for this request ID", requestId);
+        if (activeSearches.containsKey(key)) {
+            log.warn("[{}] Search already in progress for this request ID and source {}", requestId, source);
             return;
         }
-        
-        // Submit search execution
-        processExecutor.submit(() -> performSearch(requestId, source, query, maxPages, perSourceLimit));
+
+        // Global and per-source caps; throws McpQueueFullException so the activity is retried later
+        McpAdmissionController.Ticket ticket = admission.acquire(requestId, source);
+        if (activeSearches.putIfAbsent(key, ticket) != null) {
+            ticket.release();
+            log.warn("[{}] Search already in progress for this request ID and source {}", requestId, source);
+            return;
+        }
+        if (ticket.position() > 0) {
+            sseEventBus.publish(channel, "queued", Map.of(
+                "source", source,
+                "position", ticket.position(),
+                "timestamp", Instant.now().toString()
+            ));
+        }
+
+        // Start once admitted; completion is handled asynchronously, no thread waits on it.
+        // Async, so a process is never forked on the pipe thread that freed the slot.
+        ticket.admitted().thenAcceptAsync(t -> {
+            if (activeSearches.get(key) != t) {
+                // Cancelled just as it was admitted
+                t.release();
+                return;
+            }
+            CompletableFuture<?> search;
+            try {
+                sseEventBus.publish(channel, "started", Map.of(
+                    "source", source,
+                    "waitedMs", t.waitMillis(),
+                    "timestamp", Instant.now().toString()
+                ));
+                search = pool != null
+                    ? pooledSearch(key, requestId, source, query, maxPages, perSourceLimit)
+                    : performSearch(key, requestId, source, query, maxPages, perSourceLimit);
+            } catch (RuntimeException | Error e) {
+                // Failed before there was a future to release the slot on
+                activeSearches.remove(key, t);
+                t.release();
+                log.error("[{}] MCP search {} failed to start: {}", requestId, source, e.getMessage(), e);
+                sseEventBus.publish(channel, "error", Map.of(
+                    "message", "MCP search failed to start: " + e.getMessage(),
+                    "timestamp", Instant.now().toString()
+                ));
+                return;
+            }
+            search.whenComplete((r, e) -> {
+                activeSearches.remove(key, t);
+                t.release();
+            });
+        });
+    }
+
+    /**
+     * Admit a paged crawl under the same caps as {@link #executeSearch}; its page and prefetch
+     * processes then run on the crawl's slot. Registered like a search, so {@link #cancel}
+     * frees it at once.
+     */
+    @Override
+    public Admission admit(String requestId, String source) {
+        String key = searchKey(requestId, source) + ":crawl";
+        McpAdmissionController.Ticket ticket = admission.acquire(requestId, source);
+        // A replaced ticket belongs to an attempt that is still winding down; it frees its own
+        activeSearches.put(key, ticket);
+        return new Admission() {
+            @Override
+            public CompletableFuture<?> admitted() {
+                return ticket.admitted();
+            }
+
+            @Override
+            public int position() {
+                return ticket.position();
+            }
+
+            @Override
+            public long waitMillis() {
+                return ticket.waitMillis();
+            }
+
+            @Override
+            public void close() {
+                activeSearches.remove(key, ticket);
+                ticket.release();
+            }
+        };
+    }
+
+    private static String searchKey(String requestId, String source) {
+        return requestId + ":" + source;
     }
 
-    private void performSearch(String requestId, String source, String query, int maxPages, int perSourceLimit) {
+    private CompletableFuture<?> pooledSearch(String key, String requestId, String source, String query, int maxPages, int perSourceLimit) {
+        String channel = "req:" + requestId; // Consistent with Channels.forRequest
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("sources", source);
+        params.put("keywords", query);
+        params.put("maxPages", maxPages);
+        params.put("perSourceLimit", perSourceLimit);
+        sseEventBus.publish(channel, "crawlStart", Map.of(
+            "source", source,
+            "query", query,
+            "maxPages", maxPages,
+            "perSourceLimit", perSourceLimit,
+            "timestamp", Instant.now().toString()
+        ));
+        // The RPC id is requestId:source, so a run's sources can share the pool
+        CompletableFuture<JsonNode> search = pool.submit(key, "search", params,
+            event -> sseEventBus.publishRaw(channel, typeOf(event), event.kind(), event.json()),
+            TimeUnit.SECONDS.toMillis(cfg.getTimeoutSeconds()));
+        return search.whenComplete((result, e) -> {
+            if (e == null) {
+                sseEventBus.publish(channel, "complete", Map.of(
+                    "exitCode", 0,
+                    "timestamp", Instant.now().toString()
+                ));
+            } else if (e instanceof CancellationException) {
+                publishCancelled(channel, source);
+            } else if (e instanceof TimeoutException) {
+                log.warn("[{}] MCP pooled search timed out: {}", requestId, e.getMessage());
+                sseEventBus.publish(channel, "error", Map.of(
+                    "message", "Search operation timed out",
+                    "timestamp", Instant.now().toString()
+                ));
+            } else {
+                log.error("[{}] MCP pooled search failed: {}", requestId, e.getMessage(), e);
+                sseEventBus.publish(channel, "error", Map.of(
+                    "message", "MCP process failed: " + e.getMessage(),
+                    "timestamp", Instant.now().toString()
+                ));
+            }
+        });
+    }
+
+    private CompletableFuture<?> performSearch(String key, String requestId, String source, String query, int maxPages, int perSourceLimit) {
         Path cwd = Path.of(cfg.getResolvedWorkingDirectory());
         String pythonPath = cfg.getFullCommand();
         
@@ -72,151 +284,395 @@ public class McpClientProcess implements McpClient {
         cmd.add("--max-pages"); cmd.add(String.valueOf(maxPages));
         cmd.add("--per-source-limit"); cmd.add(String.valueOf(perSourceLimit));
         cmd.add("--json");
+        Wire wire = wire();
+        wire.addArgs(cmd);
 
         ProcessBuilder pb = new ProcessBuilder(cmd);
         pb.directory(cwd.toFile());
         pb.redirectErrorStream(false); // Keep stderr separate
         
-        Process process = null;
+        String channel = "req:" + requestId; // Consistent with Channels.forRequest
+        Process process;
         try {
             log.info("[{}] Starting MCP process: {}", requestId, String.join(" ", cmd));
             process = pb.start();
-            processRegistry.put(requestId, process);
-            
-            // Emit start event
-            String channel = "req:" + requestId; // Consistent with Channels.forRequest
-            sseEventBus.publish(channel, "crawlStart", Map.of(
-                "source", source,
-                "query", query,
-                "maxPages", maxPages,
-                "perSourceLimit", perSourceLimit,
+        } catch (Exception e) {
+            log.error("[{}] MCP process failed: {}", requestId, e.getMessage(), e);
+            sseEventBus.publish(channel, "error", Map.of(
+                "message", "MCP process failed: " + e.getMessage(),
                 "timestamp", Instant.now().toString()
             ));
+            return CompletableFuture.completedFuture(null);
+        }
+        processRegistry.put(key, process);
 
-            // Handle stdout (JSON events from MCP)
-            handleMcpOutput(requestId, process.getInputStream(), channel);
-            
-            // Handle stderr (logs from MCP)
-            handleMcpError(requestId, process.getErrorStream());
-
-            // Wait for process to complete with timeout
-            boolean completed = process.waitFor(cfg.getTimeoutSeconds(), TimeUnit.SECONDS);
-            if (!completed) {
-                log.warn("[{}] MCP process timed out, forcing termination", requestId);
-                process.destroyForcibly();
-                sseEventBus.publish(channel, "error", Map.of(
-                    "message", "Search operation timed out",
+        // Emit start event
+        sseEventBus.publish(channel, "crawlStart", Map.of(
+            "source", source,
+            "query", query,
+            "maxPages", maxPages,
+            "perSourceLimit", perSourceLimit,
+            "timestamp", Instant.now().toString()
+        ));
+
+        // stdout (JSON events from MCP) and stderr (logs) drain concurrently on the pipe reactor
+        ProcessPipeReactor.Pipe out = pipes.register(requestId + ":stdout", process, process.getInputStream(),
+            wire.format().framing(), (buf, off, len) -> handleMcpOutput(wire.decoder(), requestId, channel, buf, off, len));
+        ProcessPipeReactor.Pipe err = pipes.register(requestId + ":stderr", process, process.getErrorStream(),
+            (buf, off, len) -> log.warn("[{}] [MCP stderr] {}", requestId, new String(buf, off, len, StandardCharsets.UTF_8)));
+
+        // Both pipes end only after the process exits, so every event is published before "complete"
+        return CompletableFuture.allOf(out.closed(), err.closed())
+            .orTimeout(cfg.getTimeoutSeconds(), TimeUnit.SECONDS)
+            .whenComplete((done, e) -> {
+                if (!processRegistry.remove(key, process)) {
+                    // cancel() got there first and destroyed it
+                    publishCancelled(channel, source);
+                    return;
+                }
+                if (e instanceof TimeoutException) {
+                    log.warn("[{}] MCP process timed out, forcing termination", requestId);
+                    process.destroyForcibly();
+                    sseEventBus.publish(channel, "error", Map.of(
+                        "message", "Search operation timed out",
+                        "timestamp", Instant.now().toString()
+                    ));
+                    return;
+                }
+                int exitCode = process.exitValue();
+                log.info("[{}] MCP process completed with exit code: {}", requestId, exitCode);
+
+                // Emit completion event
+                sseEventBus.publish(channel, "complete", Map.of(
+                    "exitCode", exitCode,
                     "timestamp", Instant.now().toString()
                 ));
-                return;
-            }
+            });
+    }
 
-            int exitCode = process.exitValue();
-            log.info("[{}] MCP process completed with exit code: {}", requestId, exitCode);
-            
-            // Emit completion event
-            sseEventBus.publish(channel, "complete", Map.of(
-                "exitCode", exitCode,
-                "timestamp", Instant.now().toString()
-            ));
+    private void publishCancelled(String channel, String source) {
+        sseEventBus.publish(channel, "cancelled", Map.of(
+            "source", source,
+            "timestamp", Instant.now().toString()
+        ));
+    }
+
+    private void handleMcpOutput(McpFrameDecoder decoder, String requestId, String channel, byte[] buf, int offset, int length) {
+        try {
+            NdjsonDecoder.Line event = decoder.decode(buf, offset, length);
+            if (event == null) return;
+
+            // Forward the original bytes to the SSE event bus; only the routing fields are decoded
+            sseEventBus.publishRaw(channel, typeOf(event), event.kind(), event.json());
 
         } catch (Exception e) {
-            log.error("[{}] MCP process failed: {}", requestId, e.getMessage(), e);
-            
-            String channel = "req:" + requestId;
-            sseEventBus.publish(channel, "error", Map.of(
-                "message", "MCP process failed: " + e.getMessage(),
+            String line = decoder.describe(buf, offset, length);
+            log.warn("[{}] Failed to parse MCP event: {}", requestId, line, e);
+            sseEventBus.publish(channel, "parseError", Map.of(
+                "rawLine", line,
+                "error", e.getMessage(),
                 "timestamp", Instant.now().toString()
             ));
-        } finally {
-            processRegistry.remove(requestId);
-            
-            if (process != null && process.isAlive()) {
-                try {
-                    process.destroyForcibly();
-                } catch (Exception ignore) {}
-            }
         }
     }
 
-    private void handleMcpOutput(String requestId, java.io.InputStream inputStream, String channel) {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) continue;
+    @Override
+    public McpPage fetchPage(String requestId, String source, String query, int page, int pageSize, String cursor, boolean prefetchNext) {
+        CompletableFuture<McpPage> pending = claimPrefetch(requestId, source, query, page, pageSize, cursor);
+        if (pending == null) {
+            pending = startPage(requestId, source, query, page, pageSize, cursor);
+        }
+        McpPage result;
+        try {
+            result = pending.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new RuntimeException("MCP page failed: " + e.getCause(), e.getCause());
+        }
+        // Page N+1 runs while the caller publishes page N, if the caller is going to want it
+        if (prefetchNext && result.hasMore && cfg.isPagePrefetchEnabled()) {
+            prefetch(requestId, source, query, page + 1, pageSize, result.nextCursor);
+        }
+        return result;
+    }
 
-                try {
-                    JsonNode event = mapper.readTree(line);
-                    String eventType = event.path("type").asText("");
-                    
-                    // Publish directly to the SSE event bus
-                    sseEventBus.publish(channel, eventType, event);
-                    
-                } catch (Exception e) {
-                    log.warn("[{}] Failed to parse MCP event: {}", requestId, line, e);
-                    sseEventBus.publish(channel, "parseError", Map.of(
-                        "rawLine", line,
-                        "error", e.getMessage(),
-                        "timestamp", Instant.now().toString()
-                    ));
+    private void prefetch(String requestId, String source, String query, int page, int pageSize, String cursor) {
+        String key = searchKey(requestId, source);
+        Prefetch replaced = prefetches.put(key, new Prefetch(query, page, pageSize, cursor, System.nanoTime(),
+            startPage(requestId, source, query, page, pageSize, cursor)));
+        if (replaced != null) {
+            abandon(key, replaced);
+        }
+        log.debug("[{}] MCP prefetching page {} of {}", requestId, page, source);
+    }
+
+    /** Destroy prefetches left behind by crawls that stopped early or were never resumed. */
+    private void reapPrefetches() {
+        try {
+            long now = System.nanoTime();
+            long staleNanos = TimeUnit.SECONDS.toNanos(Math.max(5, cfg.getTimeoutSeconds()) * 2L);
+            for (Map.Entry<String, Prefetch> e : prefetches.entrySet()) {
+                if (now - e.getValue().startedNanos() > staleNanos && prefetches.remove(e.getKey(), e.getValue())) {
+                    log.debug("MCP dropping unclaimed prefetch of page {} for {}", e.getValue().page(), e.getKey());
+                    abandon(e.getKey(), e.getValue());
                 }
             }
-        } catch (Exception e) {
-            log.warn("[{}] MCP output stream ended: {}", requestId, e.toString());
+        } catch (RuntimeException e) {
+            // Never let one bad pass cancel the schedule
+            log.warn("MCP prefetch reaping failed: {}", e.toString());
         }
     }
 
-    private void handleMcpError(String requestId, java.io.InputStream errorStream) {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(errorStream))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                log.warn("[{}] [MCP stderr] {}", requestId, line);
-            }
-        } catch (Exception e) {
-            log.debug("[{}] MCP error stream ended: {}", requestId, e.toString());
+    /** Stop an unwanted prefetch that is still running: its process, or its pooled call. */
+    private void abandon(String key, Prefetch p) {
+        if (p.result().isDone()) {
+            return;
+        }
+        String pageKey = key + ":page:" + p.page();
+        Process process = processRegistry.remove(pageKey);
+        if (process != null) {
+            destroyTree(process);
+        }
+        if (pool != null) {
+            pool.cancel(pageKey);
         }
     }
 
-    @Override
-    public McpPage fetchPage(String requestId, String source, String query, int page, int pageSize) {
-        // Existing implementation for backward compatibility
-        Path cwd = Path.of(cfg.getResolvedWorkingDirectory());
-        Path python = Path.of(cfg.getFullCommand());
+    /** The prefetched page, if it is the one asked for; a prefetch can be claimed once. */
+    private CompletableFuture<McpPage> claimPrefetch(String requestId, String source, String query, int page, int pageSize, String cursor) {
+        Prefetch p = prefetches.remove(searchKey(requestId, source));
+        if (p == null) {
+            return null;
+        }
+        boolean same = p.page == page && p.pageSize == pageSize && Objects.equals(p.query, query)
+            && (cursor == null || cursor.equals(p.cursor));
+        if (!same) {
+            log.debug("[{}] MCP discarding prefetched page {} of {}, asked for page {}", requestId, p.page, source, page);
+            abandon(searchKey(requestId, source), p);
+            return null;
+        }
+        return p.result();
+    }
+
+    /** A page fetched ahead of being asked for, keyed by requestId:source. */
+    private record Prefetch(String query, int page, int pageSize, String cursor, long startedNanos,
+            CompletableFuture<McpPage> result) {}
+
+    /** Fetch one page; completes once the process has exited and its output has been read. */
+    private CompletableFuture<McpPage> startPage(String requestId, String source, String query, int page, int pageSize, String cursor) {
+        PageReader reader = new PageReader(requestId, source);
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(5, cfg.getTimeoutSeconds()));
+        if (pool != null) {
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("sources", source);
+            params.put("keywords", query);
+            params.put("page", page);
+            params.put("pageSize", pageSize);
+            if (cursor != null) params.put("cursor", cursor);
+            return pool.submit(searchKey(requestId, source) + ":page:" + page, "page", params, reader::onLine, timeoutMillis)
+                .thenApply(result -> {
+                    // The RPC result may carry the page end itself instead of a pageEnd event
+                    if (result != null && result.has("hasMore")) {
+                        reader.onPageEnd(result);
+                    }
+                    return reader.toPage(pageSize);
+                });
+        }
 
         List<String> cmd = new ArrayList<>();
-        cmd.add(python.toString());
+        cmd.add(cfg.getFullCommand());
         cmd.add("-u");
         cmd.add(cfg.getMainScript());
+        cmd.add("--json");
+        cmd.add("--mode"); cmd.add("page");
         if (StringUtils.hasText(source)) { cmd.add("--sources"); cmd.add(source); }
         if (StringUtils.hasText(query)) { cmd.add("--keywords"); cmd.add(query); }
-        if (page > 0) { cmd.add("--max-pages"); cmd.add(String.valueOf(page)); }
-        if (pageSize > 0) { cmd.add("--per-source-limit"); cmd.add(String.valueOf(pageSize)); }
-        cmd.add("--json");
+        cmd.add("--page"); cmd.add(String.valueOf(Math.max(1, page)));
+        if (pageSize > 0) { cmd.add("--page-size"); cmd.add(String.valueOf(pageSize)); }
+        if (StringUtils.hasText(cursor)) { cmd.add("--cursor"); cmd.add(cursor); }
+        Wire wire = wire();
+        wire.addArgs(cmd);
 
         ProcessBuilder pb = new ProcessBuilder(cmd);
-        pb.directory(cwd.toFile());
+        pb.directory(Path.of(cfg.getResolvedWorkingDirectory()).toFile());
         pb.redirectErrorStream(false);
 
+        Process process;
         try {
-            Process process = pb.start();
+            log.info("[{}] MCP page exec: {}", requestId, String.join(" ", cmd));
+            process = pb.start();
+        } catch (Exception e) {
+            log.error("[{}] MCP process failed: {}", requestId, e.getMessage(), e);
+            return CompletableFuture.failedFuture(new RuntimeException("MCP process failed: " + e.getMessage(), e));
+        }
+        String key = searchKey(requestId, source) + ":page:" + page;
+        processRegistry.put(key, process);
 
-            processRegistry.put(requestId, process);
+        // Jobs are collected as they are printed; the page is complete once both pipes end
+        ProcessPipeReactor.Pipe out = pipes.register(key + ":stdout", process, process.getInputStream(),
+            wire.format().framing(), (buf, off, len) -> {
+                try {
+                    NdjsonDecoder.Line line = wire.decoder().decode(buf, off, len);
+                    if (line != null) reader.onLine(line);
+                } catch (Exception e) {
+                    log.warn("[{}] Failed to parse MCP page line: {}", requestId, wire.decoder().describe(buf, off, len));
+                }
+            });
+        ProcessPipeReactor.Pipe err = pipes.register(key + ":stderr", process, process.getErrorStream(),
+            (buf, off, len) -> log.warn("[{}] [MCP stderr] {}", requestId, new String(buf, off, len, StandardCharsets.UTF_8)));
 
-            log.info("[{}] Exec: {} (cwd={})", requestId, String.join(" ", cmd), cwd);
+        return CompletableFuture.allOf(out.closed(), err.closed())
+            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+            .handle((done, e) -> {
+                if (!processRegistry.remove(key, process)) {
+                    throw new CancellationException("MCP page " + page + " cancelled");
+                }
+                if (e != null) {
+                    process.destroyForcibly();
+                    throw new RuntimeException("MCP page " + page + " timed out after " + timeoutMillis / 1000 + "s");
+                }
+                int exit = process.exitValue();
+                if (exit != 0 && reader.isEmpty()) {
+                    throw new RuntimeException("MCP page " + page + " failed with exit " + exit
+                        + (reader.error != null ? ": " + reader.error : ""));
+                }
+                if (exit != 0) {
+                    log.warn("[{}] MCP page {} exited {} after {} jobs", requestId, page, exit, reader.items.size());
+                }
+                return reader.toPage(pageSize);
+            });
+    }
 
-            // For backward compatibility, return empty page
-            // In a real implementation, you'd parse the actual MCP output
-            return new McpPage(List.of(), false);
-        } catch (Exception e) {
-            log.error("[{}] MCP process failed: {}", requestId, e.getMessage(), e);
-            e.printStackTrace();
+    /** The agreed output format and its decoder. */
+    private record Wire(McpWireFormat format, McpFrameDecoder decoder) {
+        void addArgs(List<String> cmd) {
+            // NDJSON is the default, so older MCP builds never see the flag
+            if (format != McpWireFormat.NDJSON) {
+                cmd.add("--wire-format"); cmd.add(format.id());
+            }
+        }
+    }
+
+    /**
+     * The output format for spawned searches and pages. A format other than NDJSON is asked of
+     * MCP once, as {@code --mode capabilities} answered by {@code {"wireFormats":[..]}}; a script
+     * that does not answer that way, or does not list the format, gets NDJSON. Pooled workers
+     * speak JSON-RPC lines and are not affected.
+     */
+    private Wire wire() {
+        Wire w = wire;
+        if (w == null) {
+            synchronized (this) {
+                if (wire == null) {
+                    McpWireFormat format = negotiate(McpWireFormat.of(cfg.getWireFormat()));
+                    wire = new Wire(format, format == McpWireFormat.NDJSON ? decoder : format.decoder(mapper.getFactory()));
+                }
+                w = wire;
+            }
+        }
+        return w;
+    }
+
+    private McpWireFormat negotiate(McpWireFormat wanted) {
+        if (wanted == McpWireFormat.NDJSON) {
+            return wanted;
+        }
+        List<String> cmd = List.of(cfg.getFullCommand(), cfg.getMainScript(), "--json", "--mode", "capabilities");
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        pb.directory(Path.of(cfg.getResolvedWorkingDirectory()).toFile());
+        pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+        try {
+            Process proc = pb.start();
+            if (!proc.waitFor(10, TimeUnit.SECONDS)) {
+                destroyTree(proc);
+                log.info("MCP did not answer --mode capabilities; using ndjson");
+                return McpWireFormat.NDJSON;
+            }
+            for (String line : new String(proc.getInputStream().readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                JsonNode node;
+                try {
+                    node = mapper.readTree(line);
+                } catch (IOException e) {
+                    continue; // not the answer: an older script printing something else
+                }
+                for (JsonNode f : node.path("wireFormats")) {
+                    if (wanted.id().equals(f.asText())) {
+                        log.info("MCP wire format: {}", wanted.id());
+                        return wanted;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("MCP capabilities check failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("MCP does not report {} support; using ndjson", wanted.id());
+        return McpWireFormat.NDJSON;
+    }
+
+    /**
+     * Collects one page's output: "job" lines become postings (their bytes are kept for
+     * forwarding as is), "pageEnd" carries hasMore and nextCursor. Written by a single pipe thread, read once the page future completes.
+     */
+    private final class PageReader {
+        private final String requestId;
+        private final String source;
+        private final List<JobPosting> items = new ArrayList<>();
+        private final List<RawEvent> raw = new ArrayList<>();
+        private Boolean hasMore;
+        private String nextCursor;
+        private String error;
+
+        PageReader(String requestId, String source) {
+            this.requestId = requestId;
+            this.source = source;
+        }
+
+        void onLine(NdjsonDecoder.Line line) {
+            String type = typeOf(line);
+            if (!"job".equals(type) && !"pageEnd".equals(type) && !"error".equals(type)) {
+                return; // banner, progress
+            }
+            JsonNode node;
+            try {
+                node = mapper.readTree(line.json());
+            } catch (IOException e) {
+                log.warn("[{}] Unreadable MCP page line: {}", requestId, e.getMessage());
+                return;
+            }
+            switch (type) {
+                case "job" -> {
+                    items.add(toJobPosting(node, source));
+                    // Lines without a source go out rebuilt, with the crawl's source filled in
+                    raw.add(node.hasNonNull("source") ? new RawEvent(line.kind(), line.json()) : null);
+                }
+                case "pageEnd" -> onPageEnd(node);
+                default -> error = node.path("message").asText(node.path("error").asText(null));
+            }
+        }
+
+        void onPageEnd(JsonNode node) {
+            hasMore = node.path("hasMore").asBoolean(false);
+            String cursor = node.path("nextCursor").asText(null);
+            nextCursor = StringUtils.hasText(cursor) ? cursor : null;
+        }
+
+        boolean isEmpty() {
+            return items.isEmpty() && hasMore == null;
+        }
+
+        McpPage toPage(int pageSize) {
+            // Without a pageEnd line, a full page is taken to mean there may be more
+            boolean more = hasMore != null ? hasMore : pageSize > 0 && items.size() >= pageSize;
+            return new McpPage(List.copyOf(items), more, more ? nextCursor : null, Collections.unmodifiableList(raw));
         }
-        return null;
     }
 
     @Override
     public JobDetails fetchByUrl(String url) {
+        if (pool != null) {
+            return pooledFetchByUrl(url);
+        }
         List<String> cmd = new ArrayList<>();
         cmd.add(cfg.getFullCommand());
         cmd.add(cfg.getMainScript());
@@ -238,10 +694,13 @@ public class McpClientProcess implements McpClient {
             final Process runningProc = proc;
 
             int timeoutSec = Math.max(5, cfg.getTimeoutSeconds());
-            ExecutorService ex = Executors.newSingleThreadExecutor();
-            Future<JobDetails> future = ex.submit(() -> readOneJsonLine(runningProc));
+            CompletableFuture<JobDetails> parsed = new CompletableFuture<>();
+            pipes.register("parse:" + proc.pid(), proc, proc.getInputStream(),
+                    (buf, off, len) -> readParseLine(parsed, buf, off, len))
+                .closed()
+                .thenRun(() -> parsed.complete(null));
             try {
-                JobDetails jd = future.get(timeoutSec, TimeUnit.SECONDS);
+                JobDetails jd = parsed.get(timeoutSec, TimeUnit.SECONDS);
                 int exit = runningProc.waitFor();
                 if (exit != 0) {
                     log.warn("MCP parse nonzero exit={} for url={}", exit, url);
@@ -253,8 +712,6 @@ public class McpClientProcess implements McpClient {
             } catch (TimeoutException te) {
                 runningProc.destroyForcibly();
                 throw new RuntimeException("MCP parse timeout after " + timeoutSec + "s");
-            } finally {
-                ex.shutdownNow();
             }
         } catch (Exception e) {
             throw new RuntimeException("MCP parse failed: " + e.getMessage(), e);
@@ -265,36 +722,190 @@ public class McpClientProcess implements McpClient {
         }
     }
 
-    private JobDetails readOneJsonLine(Process proc) throws Exception {
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(proc.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) continue;
-                JsonNode node = mapper.readTree(line);
-                String type = node.path("type").asText("");
-                if ("parsed".equals(type)) {
-                    return new JobDetails(
-                            node.path("url").asText(null),
-                            node.path("title").asText(null),
-                            node.path("company").asText(null),
-                            node.path("location").isNull() ? null : node.path("location").asText(),
-                            node.path("description").isNull() ? null : node.path("description").asText(),
-                            node.path("source").isNull() ? null : node.path("source").asText(),
-                            node.path("salary").isNull() ? null : node.path("salary").asText(),
-                            node.path("team").isNull() ? null : node.path("team").asText()
-                    );
-                } else if ("parseError".equals(type) || "error".equals(type)) {
-                    String url = node.path("url").asText(null);
-                    String msg = node.path("error").asText(node.path("message").asText("Unknown parse error"));
-                    throw new RuntimeException("MCP parseError for url=" + url + ": " + msg);
-                } else if ("banner".equals(type) || "start".equals(type) || "source_start".equals(type)) {
-                    continue;
-                } else {
-                    continue;
+    private JobDetails pooledFetchByUrl(String url) {
+        int timeoutSec = Math.max(5, cfg.getTimeoutSeconds());
+        try {
+            JsonNode node = pool.call("parse-" + UUID.randomUUID(), "parse", Map.of("url", url), null,
+                TimeUnit.SECONDS.toMillis(timeoutSec));
+            return toJobDetails(node);
+        } catch (McpProcessPool.RpcException e) {
+            throw new RuntimeException("MCP parseError for url=" + url + ": " + e.getMessage(), e);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("MCP parse timeout after " + timeoutSec + "s");
+        } catch (Exception e) {
+            throw new RuntimeException("MCP parse failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void fetchByUrls(List<String> urls, int concurrency, UrlParseListener listener) {
+        if (urls == null || urls.isEmpty()) return;
+        int parallel = Math.max(1, Math.min(concurrency > 0 ? concurrency : cfg.getParseBatchConcurrency(),
+                cfg.getParseBatchConcurrency()));
+        // One timeout per round of `parallel` URLs
+        long timeoutSec = (long) Math.max(5, cfg.getTimeoutSeconds()) * ((urls.size() + parallel - 1) / parallel);
+        // Requested URLs still waiting for a result; each gets exactly one listener call
+        Set<String> pending = ConcurrentHashMap.newKeySet();
+        pending.addAll(urls);
+        try {
+            if (pool != null) {
+                pool.call("parse-batch-" + UUID.randomUUID(), "parseBatch", Map.of("urls", urls, "concurrency", parallel),
+                    event -> onBatchLine(event, pending, listener), TimeUnit.SECONDS.toMillis(timeoutSec));
+            } else {
+                spawnParseBatch(urls, parallel, timeoutSec, pending, listener);
+            }
+        } catch (TimeoutException e) {
+            log.warn("MCP parse-batch timed out after {}s: {} of {} urls unanswered", timeoutSec, pending.size(), urls.size());
+        } catch (Exception e) {
+            log.error("MCP parse-batch failed: {}", e.getMessage(), e);
+        } finally {
+            for (String url : pending) {
+                if (pending.remove(url)) {
+                    listener.onError(url, "No result from MCP parse-batch");
                 }
             }
-            return null;
         }
     }
-}
\ No newline at end of file
+
+    private void spawnParseBatch(List<String> urls, int parallel, long timeoutSec, Set<String> pending,
+            UrlParseListener listener) throws Exception {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(cfg.getFullCommand());
+        cmd.add("-u");
+        cmd.add(cfg.getMainScript());
+        cmd.add("--json");
+        cmd.add("--mode"); cmd.add("parse-batch");
+        cmd.add("--concurrency"); cmd.add(String.valueOf(parallel));
+
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        pb.directory(Path.of(cfg.getResolvedWorkingDirectory()).toFile());
+        pb.redirectErrorStream(false);
+
+        log.info("MCP parse-batch exec: urls={} concurrency={} cmd={}", urls.size(), parallel, String.join(" ", cmd));
+        Process proc = pb.start();
+        ProcessPipeReactor.Pipe out = pipes.register("parse-batch:" + proc.pid(), proc, proc.getInputStream(),
+            (buf, off, len) -> {
+                try {
+                    NdjsonDecoder.Line line = decoder.decode(buf, off, len);
+                    if (line != null) onBatchLine(line, pending, listener);
+                } catch (Exception e) {
+                    log.debug("MCP parse-batch: skipping unreadable line: {}", e.toString());
+                }
+            });
+        ProcessPipeReactor.Pipe err = pipes.register("parse-batch:" + proc.pid() + ":stderr", proc, proc.getErrorStream(),
+            (buf, off, len) -> log.warn("[MCP parse-batch stderr] {}", new String(buf, off, len, StandardCharsets.UTF_8)));
+        try {
+            // One URL per line on stdin; EOF tells the batch there is nothing more to parse
+            try (BufferedWriter stdin = new BufferedWriter(new OutputStreamWriter(proc.getOutputStream(), StandardCharsets.UTF_8))) {
+                for (String url : urls) {
+                    stdin.write(url);
+                    stdin.write('\n');
+                }
+            }
+            CompletableFuture.allOf(out.closed(), err.closed()).get(timeoutSec, TimeUnit.SECONDS);
+            if (proc.exitValue() != 0) {
+                log.warn("MCP parse-batch nonzero exit={}", proc.exitValue());
+            }
+        } finally {
+            if (proc.isAlive()) {
+                proc.destroyForcibly();
+            }
+        }
+    }
+
+    /** Route one "parsed"/"parseError" line of a batch to the listener by its url. */
+    private void onBatchLine(NdjsonDecoder.Line line, Set<String> pending, UrlParseListener listener) {
+        String type = line.type();
+        boolean parsed = "parsed".equals(type);
+        if (!parsed && !"parseError".equals(type) && !"error".equals(type)) {
+            return; // banner, progress
+        }
+        String url = line.url();
+        if (url == null || !pending.remove(url)) {
+            return; // not one of ours, or already answered
+        }
+        // Only result lines are read as trees, for their full set of fields
+        JsonNode node;
+        try {
+            node = mapper.readTree(line.json());
+        } catch (IOException e) {
+            listener.onError(url, "Unreadable MCP result: " + e.getMessage());
+            return;
+        }
+        if (parsed) {
+            listener.onParsed(url, toJobDetails(node));
+        } else {
+            listener.onError(url, node.path("error").asText(node.path("message").asText("Unknown parse error")));
+        }
+    }
+
+    /** Complete {@code parsed} from the first "parsed" or error line; later lines are ignored. */
+    private void readParseLine(CompletableFuture<JobDetails> parsed, byte[] buf, int offset, int length) {
+        if (parsed.isDone()) return;
+        String line = new String(buf, offset, length, StandardCharsets.UTF_8).trim();
+        if (line.isEmpty()) return;
+        JsonNode node;
+        try {
+            node = mapper.readTree(line);
+        } catch (Exception e) {
+            parsed.completeExceptionally(e);
+            return;
+        }
+        String type = node.path("type").asText("");
+        if ("parsed".equals(type)) {
+            parsed.complete(toJobDetails(node));
+        } else if ("parseError".equals(type) || "error".equals(type)) {
+            String url = node.path("url").asText(null);
+            String msg = node.path("error").asText(node.path("message").asText("Unknown parse error"));
+            parsed.completeExceptionally(new RuntimeException("MCP parseError for url=" + url + ": " + msg));
+        }
+        // banner, start, source_start and other progress lines are skipped
+    }
+
+    private static String typeOf(NdjsonDecoder.Line event) {
+        return event.type() == null ? "" : event.type();
+    }
+
+    private static JobPosting toJobPosting(JsonNode node, String source) {
+        String url = text(node, "url");
+        String id = text(node, "id");
+        Instant postedAt = null;
+        String posted = text(node, "postedAt");
+        if (posted != null) {
+            try {
+                postedAt = Instant.parse(posted);
+            } catch (DateTimeParseException ignored) {
+                // Left unset rather than failing the page
+            }
+        }
+        String snippet = text(node, "snippet");
+        return new JobPosting(
+                id != null ? id : url != null ? url : UUID.randomUUID().toString(),
+                text(node, "title"),
+                text(node, "company"),
+                text(node, "location"),
+                url,
+                text(node, "source") != null ? text(node, "source") : source,
+                postedAt,
+                snippet != null ? snippet : text(node, "description")
+        );
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode v = node.get(field);
+        return v == null || v.isNull() ? null : v.asText();
+    }
+
+    private static JobDetails toJobDetails(JsonNode node) {
+        return new JobDetails(
+                node.path("url").asText(null),
+                node.path("title").asText(null),
+                node.path("company").asText(null),
+                node.path("location").isNull() ? null : node.path("location").asText(),
+                node.path("description").isNull() ? null : node.path("description").asText(),
+                node.path("source").isNull() ? null : node.path("source").asText(),
+                node.path("salary").isNull() ? null : node.path("salary").asText(),
+                node.path("team").isNull() ? null : node.path("team").asText()
+        );
+    }
+}
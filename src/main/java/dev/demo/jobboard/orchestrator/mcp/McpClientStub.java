@@ -23,7 +23,11 @@ public class McpClientStub implements McpClient {
     }
 
     @Override
-    public McpPage fetchPage(String requestId, String source, String query, int page, int pageSize) {
+    public McpPage fetchPage(String requestId, String source, String query, int page, int pageSize, String cursor, boolean prefetchNext) {
+        // The stub's cursor is just the next page number
+        if (cursor != null) {
+            try { page = Integer.parseInt(cursor); } catch (NumberFormatException ignored) {}
+        }
         int maxPages = 5;
         if (page > maxPages) {
             return new McpPage(List.of(), false);
@@ -45,7 +49,21 @@ public class McpClientStub implements McpClient {
         }
         boolean hasMore = page < maxPages;
         try { Thread.sleep(300); } catch (InterruptedException ignored) {}
-        return new McpPage(list, hasMore);
+        return new McpPage(list, hasMore, hasMore ? String.valueOf(page + 1) : null);
+    }
+
+    @Override
+    public void fetchByUrls(List<String> urls, int concurrency, UrlParseListener listener) {
+        // Stub parses synchronously, one URL at a time
+        for (String url : urls) {
+            listener.onParsed(url, fetchByUrl(url));
+        }
+    }
+
+    @Override
+    public boolean cancel(String requestId) {
+        // Stub runs nothing in the background
+        return false;
     }
 
     @Override
@@ -0,0 +1,21 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.io.IOException;
+
+/**
+ * Decodes one framed MCP output message (a line, or a length-prefixed frame body) into its
+ * routing fields and the JSON bytes forwarded to SSE. One implementation per
+ * {@link McpWireFormat}; implementations are stateless and thread-safe.
+ */
+interface McpFrameDecoder {
+
+    /**
+     * Decode one message holding a single object. Returns null for an empty message.
+     *
+     * @throws IOException if the message is not a single well-formed object
+     */
+    NdjsonDecoder.Line decode(byte[] buf, int offset, int length) throws IOException;
+
+    /** The message as text for logs and parseError events. */
+    String describe(byte[] buf, int offset, int length);
+}
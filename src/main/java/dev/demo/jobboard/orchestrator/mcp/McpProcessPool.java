@@ -0,0 +1,500 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.demo.jobboard.orchestrator.config.McpConfig;
+
+/**
+ * Fixed-size pool of long-lived MCP processes ({@code main.py --mode serve}).
+ *
+ * Each process reads newline-delimited JSON-RPC 2.0 requests on stdin and answers on stdout:
+ * <pre>
+ * -> {"jsonrpc":"2.0","id":"&lt;requestId&gt;","method":"search","params":{...}}
+ * &lt;- {"jsonrpc":"2.0","method":"event","params":{"requestId":"&lt;requestId&gt;","event":{...}}}
+ * &lt;- {"jsonrpc":"2.0","id":"&lt;requestId&gt;","result":{...}}   (or "error":{"code":..,"message":..})
+ * </pre>
+ * A process serves one request at a time; responses and event notifications are routed to the
+ * caller by requestId. Idle processes are pinged every mcp.pool-health-check-seconds, processes
+ * are replaced after mcp.pool-recycle-after requests, and a process that dies, times out or
+ * misses a ping is destroyed and replaced.
+ *
+ * Calls are asynchronous: a request with no idle worker waits in a FIFO queue without holding a
+ * thread, and worker output is read by the shared {@link ProcessPipeReactor}.
+ */
+final class McpProcessPool {
+    private static final Logger log = LoggerFactory.getLogger(McpProcessPool.class);
+
+    private final McpConfig cfg;
+    private final ObjectMapper mapper;
+    private final ProcessPipeReactor pipes;
+    private final NdjsonDecoder decoder;
+    // Guarded by this: idle workers (warmest first), callers waiting for one, workers not retired
+    private final Deque<Worker> idle = new ArrayDeque<>();
+    private final Deque<CompletableFuture<Worker>> waiters = new ArrayDeque<>();
+    private int live;
+    private final AtomicInteger workerSeq = new AtomicInteger();
+    private final AtomicLong pingSeq = new AtomicLong();
+    private final ConcurrentMap<String, Worker> busy = new ConcurrentHashMap<>();
+    // Every submitted request until its result completes, waiting for a worker or running
+    private final ConcurrentMap<String, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService maintenance;
+    private volatile boolean closed;
+
+    McpProcessPool(McpConfig cfg, ObjectMapper mapper, ProcessPipeReactor pipes) {
+        this.cfg = cfg;
+        this.mapper = mapper;
+        this.pipes = pipes;
+        this.decoder = new NdjsonDecoder(mapper.getFactory());
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mcp-pool");
+            t.setDaemon(true);
+            return t;
+        });
+        int interval = Math.max(1, cfg.getPoolHealthCheckSeconds());
+        // First run fills the pool, so startup does not block on interpreter launches
+        maintenance.scheduleWithFixedDelay(this::maintain, 0, interval, TimeUnit.SECONDS);
+    }
+
+    /** JSON-RPC error returned by a worker; the worker itself is still healthy. */
+    static final class RpcException extends RuntimeException {
+        private final int code;
+
+        RpcException(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+
+        int code() {
+            return code;
+        }
+    }
+
+    /**
+     * Send one request to the next free worker. Event notifications for this request are passed
+     * to {@code onEvent}, undecoded apart from their routing fields, on a pipe reactor thread,
+     * so it must not block. The timeout covers both
+     * the wait for a worker and the call itself.
+     */
+    CompletableFuture<JsonNode> submit(String requestId, String method, Object params, Consumer<NdjsonDecoder.Line> onEvent,
+            long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        CompletableFuture<JsonNode> result = new CompletableFuture<>();
+        pending.put(requestId, result);
+        result.whenComplete((r, e) -> pending.remove(requestId, result));
+        acquire(timeoutMillis).whenComplete((worker, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(unwrap(failure));
+                return;
+            }
+            // Visible to cancel() before the check, so a cancel cannot slip in between them
+            busy.put(requestId, worker);
+            if (result.isDone()) {
+                // Cancelled while waiting for a worker; it never saw the request
+                busy.remove(requestId, worker);
+                checkIn(worker);
+                return;
+            }
+            worker.send(requestId, method, params, onEvent)
+                .orTimeout(remainingMillis(deadline), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> {
+                    busy.remove(requestId);
+                    worker.forget(requestId);
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof TimeoutException) {
+                        log.warn("[{}] MCP worker {} timed out on {}", requestId, worker.id, method);
+                    }
+                    // Release first, so the worker is free again before the caller continues
+                    release(worker, error == null || cause instanceof RpcException);
+                    if (error == null) {
+                        result.complete(response);
+                    } else {
+                        result.completeExceptionally(cause);
+                    }
+                });
+        });
+        return result;
+    }
+
+    /** Blocking form of {@link #submit}; throws the call's own exception. */
+    JsonNode call(String requestId, String method, Object params, Consumer<NdjsonDecoder.Line> onEvent, long timeoutMillis)
+            throws Exception {
+        try {
+            return submit(requestId, method, params, onEvent, timeoutMillis).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cancel every request whose id starts with {@code prefix}. Requests still waiting for a
+     * worker are dropped; a worker running one is destroyed, with its child processes, and
+     * replaced. The results complete with a {@link CancellationException}.
+     *
+     * @return the number of requests cancelled
+     */
+    int cancel(String prefix) {
+        CancellationException cancelled = new CancellationException("Cancelled");
+        int n = 0;
+        for (Map.Entry<String, Worker> e : busy.entrySet()) {
+            if (e.getKey().startsWith(prefix)) {
+                // Fails the call, which retires the worker as unhealthy
+                e.getValue().cancel(e.getKey(), cancelled);
+            }
+        }
+        for (Map.Entry<String, CompletableFuture<JsonNode>> e : pending.entrySet()) {
+            if (e.getKey().startsWith(prefix)) {
+                e.getValue().completeExceptionally(cancelled);
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /** Stop the maintenance thread and destroy every worker. */
+    void shutdown() {
+        closed = true;
+        maintenance.shutdownNow();
+        List<Worker> all = new ArrayList<>(busy.values());
+        List<CompletableFuture<Worker>> waiting;
+        synchronized (this) {
+            all.addAll(idle);
+            idle.clear();
+            waiting = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        IllegalStateException down = new IllegalStateException("MCP pool is shut down");
+        waiting.forEach(w -> w.completeExceptionally(down));
+        for (Worker w : all) {
+            w.destroy("pool shutdown");
+        }
+    }
+
+    private CompletableFuture<Worker> acquire(long timeoutMillis) {
+        List<Worker> dead = new ArrayList<>();
+        CompletableFuture<Worker> waiter = new CompletableFuture<>();
+        boolean spawn = false;
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("MCP pool is shut down"));
+            }
+            Worker w;
+            while ((w = idle.pollFirst()) != null && !w.isAlive()) {
+                live--;
+                dead.add(w);
+            }
+            if (w != null) {
+                waiter.complete(w);
+            } else if (live < Math.max(1, cfg.getPoolSize())) {
+                live++;
+                spawn = true;
+            } else {
+                waiters.addLast(waiter);
+            }
+        }
+        dead.forEach(w -> w.destroy("exited while idle"));
+        if (spawn) {
+            try {
+                waiter.complete(start());
+            } catch (IOException e) {
+                synchronized (this) {
+                    live--;
+                }
+                waiter.completeExceptionally(e);
+            }
+        } else if (!waiter.isDone()) {
+            waiter.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((w, e) -> {
+                if (e != null) {
+                    synchronized (this) {
+                        waiters.remove(waiter);
+                    }
+                }
+            });
+        }
+        return waiter;
+    }
+
+    /** Hand a free worker to the longest waiting caller, or park it as idle. */
+    private void checkIn(Worker w) {
+        while (true) {
+            CompletableFuture<Worker> waiter;
+            synchronized (this) {
+                waiter = waiters.pollFirst();
+                if (waiter == null) {
+                    idle.offerFirst(w);
+                    return;
+                }
+            }
+            if (waiter.complete(w)) {
+                return;
+            }
+        }
+    }
+
+    private void release(Worker w, boolean healthy) {
+        int served = w.served.incrementAndGet();
+        int recycleAfter = cfg.getPoolRecycleAfter();
+        if (closed) {
+            w.destroy("pool shutdown");
+        } else if (!healthy || !w.isAlive()) {
+            retire(w, "unhealthy");
+            replenishLater();
+        } else if (recycleAfter > 0 && served >= recycleAfter) {
+            retire(w, "recycled after " + served + " requests");
+            replenishLater();
+        } else {
+            checkIn(w);
+        }
+    }
+
+    private void retire(Worker w, String reason) {
+        synchronized (this) {
+            live--;
+        }
+        w.destroy(reason);
+    }
+
+    private void replenishLater() {
+        if (!closed) {
+            maintenance.execute(this::replenish);
+        }
+    }
+
+    /** Ping each idle worker once, replace failures and top the pool up to its size. */
+    private void maintain() {
+        try {
+            int n;
+            synchronized (this) {
+                n = idle.size();
+            }
+            for (int i = 0; i < n && !closed; i++) {
+                Worker w;
+                synchronized (this) {
+                    w = idle.pollLast();
+                }
+                if (w == null) {
+                    break;
+                }
+                if (ping(w)) {
+                    // Back at the warm end, so the next pollLast reaches an unchecked worker
+                    checkIn(w);
+                } else {
+                    retire(w, "failed health check");
+                }
+            }
+            replenish();
+        } catch (Exception e) {
+            log.warn("MCP pool maintenance failed: {}", e.toString());
+        }
+    }
+
+    private boolean ping(Worker w) {
+        if (!w.isAlive()) {
+            return false;
+        }
+        String id = "ping-" + pingSeq.incrementAndGet();
+        try {
+            w.send(id, "ping", Map.of(), null).get(Math.max(1, cfg.getPoolPingTimeoutSeconds()), TimeUnit.SECONDS);
+            return true;
+        } catch (Exception e) {
+            log.warn("MCP worker {} ping failed: {}", w.id, e.toString());
+            return false;
+        } finally {
+            w.forget(id);
+        }
+    }
+
+    private void replenish() {
+        int size = Math.max(1, cfg.getPoolSize());
+        while (!closed) {
+            synchronized (this) {
+                if (live >= size) {
+                    return;
+                }
+                live++;
+            }
+            try {
+                checkIn(start());
+            } catch (IOException e) {
+                synchronized (this) {
+                    live--;
+                }
+                log.warn("MCP worker start failed: {}", e.toString());
+                return;
+            }
+        }
+    }
+
+    private Worker start() throws IOException {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(cfg.getFullCommand());
+        cmd.add("-u");
+        cmd.add(cfg.getMainScript());
+        cmd.add("--json");
+        cmd.add("--mode"); cmd.add("serve");
+
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        pb.directory(Path.of(cfg.getResolvedWorkingDirectory()).toFile());
+        pb.redirectErrorStream(false);
+        Worker w = new Worker(workerSeq.incrementAndGet(), pb.start());
+        log.info("MCP worker {} started: pid={} cmd={}", w.id, w.process.pid(), String.join(" ", cmd));
+        return w;
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    }
+
+    private static long remainingMillis(long deadline) {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /** A pending request on a worker. */
+    private record Call(CompletableFuture<JsonNode> response, Consumer<NdjsonDecoder.Line> onEvent) {}
+
+    private final class Worker {
+        final int id;
+        final Process process;
+        final BufferedWriter stdin;
+        final AtomicInteger served = new AtomicInteger();
+        final ConcurrentMap<String, Call> calls = new ConcurrentHashMap<>();
+
+        Worker(int id, Process process) {
+            this.id = id;
+            this.process = process;
+            this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            pipes.register("worker-" + id + ":stdout", process, process.getInputStream(), this::dispatch)
+                .closed()
+                .thenRun(this::exited);
+            pipes.register("worker-" + id + ":stderr", process, process.getErrorStream(),
+                (buf, off, len) -> log.warn("[MCP worker {} stderr] {}", id, new String(buf, off, len, StandardCharsets.UTF_8)));
+        }
+
+        boolean isAlive() {
+            return process.isAlive();
+        }
+
+        CompletableFuture<JsonNode> send(String requestId, String method, Object params, Consumer<NdjsonDecoder.Line> onEvent) {
+            Call call = new Call(new CompletableFuture<>(), onEvent);
+            calls.put(requestId, call);
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("jsonrpc", "2.0");
+            message.put("id", requestId);
+            message.put("method", method);
+            message.put("params", params);
+            try {
+                synchronized (stdin) {
+                    stdin.write(mapper.writeValueAsString(message));
+                    stdin.write('\n');
+                    stdin.flush();
+                }
+            } catch (IOException e) {
+                calls.remove(requestId);
+                call.response.completeExceptionally(e);
+            }
+            return call.response;
+        }
+
+        void forget(String requestId) {
+            calls.remove(requestId);
+        }
+
+        void cancel(String requestId, CancellationException cancelled) {
+            Call call = calls.remove(requestId);
+            if (call != null) {
+                call.response.completeExceptionally(cancelled);
+            }
+        }
+
+        void destroy(String reason) {
+            log.info("MCP worker {} stopping: {}", id, reason);
+            try {
+                stdin.close();
+            } catch (IOException ignore) {}
+            // Whatever the worker started (browsers, HTTP helpers) goes with it
+            process.descendants().forEach(ProcessHandle::destroy);
+            process.destroy();
+            process.onExit().orTimeout(5, TimeUnit.SECONDS).whenComplete((p, e) -> {
+                if (e != null) {
+                    process.destroyForcibly();
+                }
+            });
+        }
+
+        private void exited() {
+            IllegalStateException exited = new IllegalStateException("MCP worker " + id + " exited");
+            calls.values().forEach(c -> c.response.completeExceptionally(exited));
+            calls.clear();
+        }
+
+        private void dispatch(byte[] buf, int offset, int length) {
+            JsonNode msg;
+            try {
+                // Events are the bulk of the traffic: route them without building a tree
+                NdjsonDecoder.Notification note = decoder.decodeNotification(buf, offset, length);
+                if (note != null) {
+                    Call call = calls.get(note.requestId());
+                    if (call != null && call.onEvent != null) {
+                        try {
+                            call.onEvent.accept(note.event());
+                        } catch (Exception e) {
+                            log.warn("MCP worker {} event handler failed: {}", id, e.toString());
+                        }
+                    }
+                    return;
+                }
+                msg = mapper.readTree(buf, offset, length);
+            } catch (IOException e) {
+                log.debug("MCP worker {} non-JSON output: {}", id, new String(buf, offset, length, StandardCharsets.UTF_8));
+                return;
+            }
+            if (msg == null) {
+                return;
+            }
+            Call call = calls.remove(msg.path("id").asText(""));
+            if (call == null) {
+                // Response to a request that already timed out
+                return;
+            }
+            if (msg.hasNonNull("error")) {
+                JsonNode error = msg.get("error");
+                call.response.completeExceptionally(
+                    new RpcException(error.path("code").asInt(0), error.path("message").asText("Unknown MCP error")));
+            } else {
+                JsonNode result = msg.path("result");
+                call.response.complete(result.isMissingNode() ? mapper.createObjectNode() : result);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+/**
+ * Thrown when an MCP search cannot start and the admission queue (mcp.max-queue-depth) is
+ * already full. The search activity fails and Temporal retries it later.
+ */
+public class McpQueueFullException extends RuntimeException {
+
+    public McpQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,53 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.util.Locale;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * Formats MCP can write search and page output in. NDJSON is what every MCP build speaks;
+ * the others are used only after MCP has said it supports them (see mcp.wire-format).
+ */
+enum McpWireFormat {
+    /** One JSON object per line. */
+    NDJSON("ndjson", ProcessPipeReactor.Framing.LINES),
+    /** One CBOR map per length-prefixed frame. */
+    CBOR("cbor", ProcessPipeReactor.Framing.LENGTH_PREFIXED);
+
+    private final String id;
+    private final ProcessPipeReactor.Framing framing;
+
+    McpWireFormat(String id, ProcessPipeReactor.Framing framing) {
+        this.id = id;
+        this.framing = framing;
+    }
+
+    /** The name used in config and passed to MCP as {@code --wire-format}. */
+    String id() {
+        return id;
+    }
+
+    ProcessPipeReactor.Framing framing() {
+        return framing;
+    }
+
+    McpFrameDecoder decoder(JsonFactory json) {
+        return switch (this) {
+            case NDJSON -> new NdjsonDecoder(json);
+            case CBOR -> new CborFrameDecoder(json);
+        };
+    }
+
+    /** The format named {@code id}, or NDJSON for a blank or unknown name. */
+    static McpWireFormat of(String id) {
+        if (id != null) {
+            String wanted = id.trim().toLowerCase(Locale.ROOT);
+            for (McpWireFormat f : values()) {
+                if (f.id.equals(wanted)) {
+                    return f;
+                }
+            }
+        }
+        return NDJSON;
+    }
+}
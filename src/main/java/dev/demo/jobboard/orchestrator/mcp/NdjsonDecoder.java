@@ -0,0 +1,135 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Streaming decoder for MCP's newline-delimited JSON output.
+ *
+ * Reads a line's top-level routing fields ({@code type}, {@code kind}, {@code url}) with a
+ * token-level {@link JsonParser} instead of building a {@code JsonNode} tree, and keeps the
+ * line's original UTF-8 bytes so they can be forwarded to SSE unchanged. The whole line is
+ * still tokenized, so malformed JSON is rejected rather than passed through. Stateless and
+ * thread-safe. The {@link McpWireFormat#NDJSON} decoder, and the fallback for every other format.
+ */
+final class NdjsonDecoder implements McpFrameDecoder {
+
+    private final JsonFactory factory;
+
+    NdjsonDecoder(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    /** One JSON object: its routing fields and an exact copy of its bytes. */
+    record Line(String type, String kind, String url, byte[] json) {}
+
+    /** A pooled worker's {@code "event"} notification: the request it belongs to and the event. */
+    record Notification(String requestId, Line event) {}
+
+    /**
+     * Decode one line holding a JSON object. Returns null for a blank line.
+     *
+     * @throws IOException if the line is not a single well-formed JSON object
+     */
+    @Override
+    public Line decode(byte[] buf, int offset, int length) throws IOException {
+        int start = offset;
+        int end = offset + length;
+        while (start < end && isSpace(buf[start])) start++;
+        while (end > start && isSpace(buf[end - 1])) end--;
+        if (start == end) {
+            return null;
+        }
+        try (JsonParser p = factory.createParser(buf, start, end - start)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(p, "MCP output line is not a JSON object");
+            }
+            Line line = readObject(p, buf, start);
+            if (p.nextToken() != null) {
+                throw new JsonParseException(p, "Trailing content after MCP output object");
+            }
+            return line;
+        }
+    }
+
+    @Override
+    public String describe(byte[] buf, int offset, int length) {
+        return new String(buf, offset, length, StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * Decode a JSON-RPC line from a pooled worker. Returns the notification for
+     * {@code {"method":"event","params":{"requestId":..,"event":{..}}}} and null for anything
+     * else (responses are rare and read as trees by the caller).
+     */
+    Notification decodeNotification(byte[] buf, int offset, int length) throws IOException {
+        String method = null;
+        String requestId = null;
+        Line event = null;
+        try (JsonParser p = factory.createParser(buf, offset, length)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("method".equals(field) && value == JsonToken.VALUE_STRING) {
+                    method = p.getText();
+                } else if ("params".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String param = p.currentName();
+                        JsonToken v = p.nextToken();
+                        if ("requestId".equals(param) && v == JsonToken.VALUE_STRING) {
+                            requestId = p.getText();
+                        } else if ("event".equals(param) && v == JsonToken.START_OBJECT) {
+                            event = readObject(p, buf, offset);
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+        return "event".equals(method) && requestId != null && event != null ? new Notification(requestId, event) : null;
+    }
+
+    /**
+     * With the parser on an object's START_OBJECT, read its top-level routing fields, skip
+     * everything else and stop on its END_OBJECT. {@code base} is the array index the
+     * parser's byte offsets are relative to.
+     */
+    private static Line readObject(JsonParser p, byte[] buf, int base) throws IOException {
+        int from = base + (int) p.currentTokenLocation().getByteOffset();
+        String type = null;
+        String kind = null;
+        String url = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if (value == JsonToken.VALUE_STRING) {
+                switch (field) {
+                    case "type" -> type = p.getText();
+                    case "kind" -> kind = p.getText();
+                    case "url" -> url = p.getText();
+                    default -> { }
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+        int to = base + (int) p.currentLocation().getByteOffset();
+        return new Line(type, kind, url, Arrays.copyOfRange(buf, from, to));
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+}
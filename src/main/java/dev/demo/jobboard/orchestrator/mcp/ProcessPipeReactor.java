@@ -0,0 +1,303 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drains child process pipes on a fixed set of pump threads, however many processes are running.
+ *
+ * Process pipes are not selectable, so each pump polls its pipes with {@code available()} and
+ * only reads what is already buffered; a read never blocks, and a quiet stdout cannot hold up
+ * the stderr of the same or any other process. Idle pumps back off from 1ms to 20ms. Input is
+ * split into lines, or into length-prefixed frames (see {@link Framing}), and handed to the
+ * pipe's handler on the pump thread, so handlers must not block. A pipe ends once its process
+ * has exited and everything it wrote has been read.
+ */
+final class ProcessPipeReactor {
+    private static final Logger log = LoggerFactory.getLogger(ProcessPipeReactor.class);
+
+    private static final int READ_CHUNK = 64 * 1024;
+    private static final int MAX_LINE_BYTES = 16 * 1024 * 1024;
+    private static final long MIN_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    /**
+     * Receives one line without its terminator, or one frame body without its length prefix;
+     * the array is only valid during the call.
+     */
+    @FunctionalInterface
+    interface LineHandler {
+        void onLine(byte[] buf, int offset, int length);
+    }
+
+    /** How a pipe's bytes are cut into messages. */
+    enum Framing {
+        /** Newline-terminated; a trailing CR is dropped. */
+        LINES,
+        /** A 4-byte big-endian length, then that many bytes of body. */
+        LENGTH_PREFIXED
+    }
+
+    private final Pump[] pumps;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile boolean closed;
+
+    ProcessPipeReactor(int threads) {
+        this.pumps = new Pump[Math.max(1, threads)];
+        for (int i = 0; i < pumps.length; i++) {
+            pumps[i] = new Pump();
+            Thread t = new Thread(pumps[i], "mcp-pipes-" + i);
+            t.setDaemon(true);
+            pumps[i].thread = t;
+            t.start();
+        }
+    }
+
+    /**
+     * Start draining {@code in}, which belongs to {@code process}. The returned pipe's
+     * {@link Pipe#closed()} completes after the last line has been handled.
+     */
+    Pipe register(String name, Process process, InputStream in, LineHandler handler) {
+        return register(name, process, in, Framing.LINES, handler);
+    }
+
+    /** As {@link #register(String, Process, InputStream, LineHandler)}, cut by {@code framing}. */
+    Pipe register(String name, Process process, InputStream in, Framing framing, LineHandler handler) {
+        Pipe pipe = new Pipe(name, process, in, framing, handler);
+        if (closed) {
+            pipe.finish();
+            return pipe;
+        }
+        Pump pump = pumps[Math.floorMod(next.getAndIncrement(), pumps.length)];
+        pump.added.add(pipe);
+        LockSupport.unpark(pump.thread);
+        return pipe;
+    }
+
+    void shutdown() {
+        closed = true;
+        for (Pump pump : pumps) {
+            LockSupport.unpark(pump.thread);
+        }
+    }
+
+    static final class Pipe {
+        private final String name;
+        private final Process process;
+        private final InputStream in;
+        private final Framing framing;
+        private final LineHandler handler;
+        private final CompletableFuture<Void> closed = new CompletableFuture<>();
+        // Partial line (or frame body) carried over between reads
+        private byte[] line = new byte[256];
+        private int lineLength;
+        private boolean discarding;
+        // LENGTH_PREFIXED: length prefix read so far, and body bytes still to come (-1 while in the prefix)
+        private int prefix;
+        private int prefixBytes;
+        private int frameRemaining = -1;
+        private boolean corrupt;
+
+        private Pipe(String name, Process process, InputStream in, Framing framing, LineHandler handler) {
+            this.name = name;
+            this.process = process;
+            this.in = in;
+            this.framing = framing;
+            this.handler = handler;
+        }
+
+        CompletableFuture<Void> closed() {
+            return closed;
+        }
+
+        /** Read what is buffered; bytes read, 0 if nothing was ready, -1 at end of stream. */
+        private int pump(byte[] buf) {
+            try {
+                // Sample liveness first: once the process is gone nothing new can arrive
+                boolean exited = !process.isAlive();
+                int ready = in.available();
+                if (ready <= 0) {
+                    return exited ? -1 : 0;
+                }
+                int n = in.read(buf, 0, Math.min(ready, buf.length));
+                if (n < 0) {
+                    return -1;
+                }
+                if (framing == Framing.LINES) {
+                    split(buf, n);
+                } else {
+                    splitFrames(buf, n);
+                }
+                return n;
+            } catch (IOException e) {
+                log.debug("MCP pipe {} closed: {}", name, e.toString());
+                return -1;
+            }
+        }
+
+        private void split(byte[] buf, int n) {
+            int start = 0;
+            for (int i = 0; i < n; i++) {
+                if (buf[i] != '\n') {
+                    continue;
+                }
+                if (lineLength == 0 && !discarding) {
+                    deliverLine(buf, start, i - start);
+                } else {
+                    append(buf, start, i - start);
+                    if (!discarding) {
+                        deliverLine(line, 0, lineLength);
+                    }
+                    lineLength = 0;
+                    discarding = false;
+                }
+                start = i + 1;
+            }
+            if (start < n) {
+                append(buf, start, n - start);
+            }
+        }
+
+        private void splitFrames(byte[] buf, int n) {
+            int i = 0;
+            while (i < n && !corrupt) {
+                if (frameRemaining < 0) {
+                    prefix = (prefix << 8) | (buf[i++] & 0xff);
+                    if (++prefixBytes < 4) {
+                        continue;
+                    }
+                    int length = prefix;
+                    prefix = 0;
+                    prefixBytes = 0;
+                    if (length < 0) {
+                        // Nothing after a bad prefix can be trusted to be aligned
+                        log.warn("MCP pipe {} sent a negative frame length, ignoring the rest of its output", name);
+                        corrupt = true;
+                        return;
+                    }
+                    if (length > MAX_LINE_BYTES) {
+                        log.warn("MCP pipe {} frame exceeds {} bytes, discarding it", name, MAX_LINE_BYTES);
+                        discarding = true;
+                    }
+                    frameRemaining = length;
+                    lineLength = 0;
+                    if (length > 0) {
+                        continue;
+                    }
+                }
+                int take = Math.min(frameRemaining, n - i);
+                boolean whole = take == frameRemaining;
+                if (whole && lineLength == 0 && !discarding) {
+                    deliver(buf, i, take);
+                } else {
+                    append(buf, i, take);
+                    if (whole && !discarding) {
+                        deliver(line, 0, lineLength);
+                    }
+                }
+                i += take;
+                frameRemaining -= take;
+                if (frameRemaining == 0) {
+                    frameRemaining = -1;
+                    lineLength = 0;
+                    discarding = false;
+                }
+            }
+        }
+
+        private void append(byte[] buf, int offset, int length) {
+            if (discarding) {
+                return;
+            }
+            if (lineLength + length > MAX_LINE_BYTES) {
+                log.warn("MCP pipe {} line exceeds {} bytes, discarding it", name, MAX_LINE_BYTES);
+                discarding = true;
+                lineLength = 0;
+                return;
+            }
+            if (lineLength + length > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+            }
+            System.arraycopy(buf, offset, line, lineLength, length);
+            lineLength += length;
+        }
+
+        private void deliverLine(byte[] buf, int offset, int length) {
+            if (length > 0 && buf[offset + length - 1] == '\r') {
+                length--;
+            }
+            deliver(buf, offset, length);
+        }
+
+        private void deliver(byte[] buf, int offset, int length) {
+            try {
+                handler.onLine(buf, offset, length);
+            } catch (Exception e) {
+                log.warn("MCP pipe {} handler failed: {}", name, e.toString());
+            }
+        }
+
+        private void finish() {
+            if (framing == Framing.LINES && lineLength > 0 && !discarding) {
+                deliverLine(line, 0, lineLength);
+            } else if (framing == Framing.LENGTH_PREFIXED && (frameRemaining > 0 || prefixBytes > 0)) {
+                log.warn("MCP pipe {} ended inside a frame, dropping it", name);
+            }
+            lineLength = 0;
+            try {
+                in.close();
+            } catch (IOException ignore) {}
+            closed.complete(null);
+        }
+    }
+
+    private final class Pump implements Runnable {
+        final Queue<Pipe> added = new ConcurrentLinkedQueue<>();
+        final List<Pipe> pipes = new ArrayList<>();
+        final byte[] buf = new byte[READ_CHUNK];
+        volatile Thread thread;
+
+        @Override
+        public void run() {
+            long idleNanos = MIN_IDLE_NANOS;
+            while (!closed) {
+                Pipe p;
+                while ((p = added.poll()) != null) {
+                    pipes.add(p);
+                }
+                boolean progress = false;
+                for (Iterator<Pipe> it = pipes.iterator(); it.hasNext(); ) {
+                    Pipe pipe = it.next();
+                    int n = pipe.pump(buf);
+                    if (n < 0) {
+                        it.remove();
+                        pipe.finish();
+                    } else if (n > 0) {
+                        progress = true;
+                    }
+                }
+                if (progress) {
+                    idleNanos = MIN_IDLE_NANOS;
+                } else {
+                    LockSupport.parkNanos(this, idleNanos);
+                    idleNanos = Math.min(idleNanos * 2, MAX_IDLE_NANOS);
+                }
+            }
+            added.forEach(Pipe::finish);
+            pipes.forEach(Pipe::finish);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.demo.jobboard.orchestrator.dto.JobDetails;
+
+/**
+ * Sends crawls for the sources in mcp.http-sources to the in-process {@link McpClientHttp}
+ * and everything else, including URL parsing, to the default client (process or stub).
+ */
+public class RoutingMcpClient implements McpClient {
+    private static final Logger log = LoggerFactory.getLogger(RoutingMcpClient.class);
+
+    private final McpClient defaultClient;
+    private final McpClientHttp http;
+    private final Set<String> httpSources;
+
+    public RoutingMcpClient(McpClient defaultClient, McpClientHttp http, List<String> httpSources) {
+        this.defaultClient = defaultClient;
+        this.http = http;
+        this.httpSources = httpSources.stream()
+            .map(s -> s.trim().toLowerCase(Locale.ROOT))
+            .filter(s -> !s.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+        for (String source : this.httpSources) {
+            if (!http.supports(source)) {
+                log.warn("mcp.http-sources lists {}, which the HTTP engine cannot crawl; it stays on the default client", source);
+            }
+        }
+    }
+
+    @Override
+    public McpPage fetchPage(String requestId, String source, String query, int page, int pageSize, String cursor, boolean prefetchNext) {
+        return clientFor(source).fetchPage(requestId, source, query, page, pageSize, cursor, prefetchNext);
+    }
+
+    @Override
+    public Admission admit(String requestId, String source) {
+        return clientFor(source).admit(requestId, source);
+    }
+
+    @Override
+    public void executeSearch(String requestId, String source, String query, int maxPages, int perSourceLimit) {
+        clientFor(source).executeSearch(requestId, source, query, maxPages, perSourceLimit);
+    }
+
+    @Override
+    public JobDetails fetchByUrl(String url) {
+        return defaultClient.fetchByUrl(url);
+    }
+
+    @Override
+    public void fetchByUrls(List<String> urls, int concurrency, UrlParseListener listener) {
+        defaultClient.fetchByUrls(urls, concurrency, listener);
+    }
+
+    @Override
+    public boolean cancel(String requestId) {
+        // A run's sources may be split across both engines
+        boolean viaHttp = http.cancel(requestId);
+        return defaultClient.cancel(requestId) | viaHttp;
+    }
+
+    @Override
+    public void shutdown() {
+        http.shutdown();
+        defaultClient.shutdown();
+    }
+
+    private McpClient clientFor(String source) {
+        String key = source == null ? "" : source.trim().toLowerCase(Locale.ROOT);
+        return httpSources.contains(key) && http.supports(key) ? http : defaultClient;
+    }
+}
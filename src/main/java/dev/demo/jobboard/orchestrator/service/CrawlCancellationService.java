@@ -0,0 +1,107 @@
+package dev.demo.jobboard.orchestrator.service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import dev.demo.jobboard.orchestrator.config.McpConfig;
+import dev.demo.jobboard.orchestrator.mcp.McpClient;
+import dev.demo.jobboard.orchestrator.sse.SseEventBus;
+import dev.demo.jobboard.orchestrator.util.Channels;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowNotFoundException;
+
+/**
+ * Cancels a run: its Temporal workflow, whatever MCP work it has queued or running, and its
+ * SSE channel. With mcp.cancel-on-disconnect, a run whose last subscriber has been gone for
+ * mcp.cancel-on-disconnect-grace-seconds is cancelled the same way, so a page reload does not
+ * kill it but closing the tab does. Only crawl runs (workflow ids starting with
+ * {@link #CRAWL_ID_PREFIX}) are watched; analysis streams are left alone.
+ */
+@Service
+public class CrawlCancellationService {
+    private static final Logger log = LoggerFactory.getLogger(CrawlCancellationService.class);
+
+    // Workflow ids (and so requestIds) of crawl runs start with this
+    public static final String CRAWL_ID_PREFIX = "crawl-";
+
+    private final WorkflowClient client;
+    private final McpClient mcpClient;
+    private final SseEventBus eventBus;
+    private final McpConfig cfg;
+    // Runs the grace-period checks; null unless mcp.cancel-on-disconnect
+    private final ScheduledExecutorService timer;
+
+    public CrawlCancellationService(WorkflowClient client, McpClient mcpClient, SseEventBus eventBus, McpConfig cfg) {
+        this.client = client;
+        this.mcpClient = mcpClient;
+        this.eventBus = eventBus;
+        this.cfg = cfg;
+        if (cfg.isCancelOnDisconnect()) {
+            this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "crawl-cancel");
+                t.setDaemon(true);
+                return t;
+            });
+            eventBus.onLastSubscriberLeft(this::lastSubscriberLeft);
+        } else {
+            this.timer = null;
+        }
+    }
+
+    /**
+     * Cancel the workflow with id {@code requestId} and its MCP work, then publish "cancelled"
+     * and complete the channel.
+     */
+    public Map<String, Object> cancel(String requestId, String reason) {
+        boolean workflowCancelled = cancelWorkflow(requestId);
+        boolean searchesCancelled = mcpClient.cancel(requestId);
+        log.info("[{}] Run cancelled: reason={} workflow={} searches={}", requestId, reason, workflowCancelled, searchesCancelled);
+
+        String channel = Channels.forRequest(requestId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requestId", requestId);
+        result.put("reason", reason);
+        result.put("workflowCancelled", workflowCancelled);
+        result.put("searchesCancelled", searchesCancelled);
+        result.put("timestamp", Instant.now().toString());
+        eventBus.publish(channel, "cancelled", result);
+        eventBus.complete(channel, "cancelled");
+        return result;
+    }
+
+    private boolean cancelWorkflow(String requestId) {
+        try {
+            client.newUntypedWorkflowStub(requestId, Optional.empty(), Optional.empty()).cancel();
+            return true;
+        } catch (WorkflowNotFoundException e) {
+            // Already finished, or never a workflow
+            return false;
+        } catch (RuntimeException e) {
+            log.warn("[{}] Workflow cancel failed: {}", requestId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void lastSubscriberLeft(String channel) {
+        String requestId = Channels.requestIdOf(channel);
+        if (requestId.equals(channel) || !requestId.startsWith(CRAWL_ID_PREFIX)) {
+            return; // not a crawl run's channel
+        }
+        int graceSeconds = Math.max(0, cfg.getCancelOnDisconnectGraceSeconds());
+        log.debug("[{}] Last subscriber left; cancelling in {}s unless one returns", requestId, graceSeconds);
+        timer.schedule(() -> {
+            if (eventBus.subscriberCount(channel) == 0 && !eventBus.isCompleted(channel)) {
+                cancel(requestId, "lastSubscriberLeft");
+            }
+        }, graceSeconds, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,50 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Opt-in micro-batching for a channel or subscriber: consecutive events are collected and
+ * written as one {@code batch} event whose data is an array of {id, event, data} objects.
+ *
+ * A batch is flushed when it reaches {@code maxEvents}, or when its oldest event has waited
+ * {@code window}; the window is therefore the latency cap for interactive progress.
+ */
+public final class BatchPolicy {
+
+    private final int maxEvents;
+    private final Duration window;
+
+    private BatchPolicy(int maxEvents, Duration window) {
+        this.maxEvents = maxEvents;
+        this.window = window;
+    }
+
+    public static BatchPolicy of(int maxEvents, Duration window) {
+        Objects.requireNonNull(window, "window");
+        if (maxEvents < 1) {
+            throw new IllegalArgumentException("maxEvents must be >= 1");
+        }
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("window must not be negative");
+        }
+        return new BatchPolicy(maxEvents, window);
+    }
+
+    public int getMaxEvents() {
+        return maxEvents;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    long windowNanos() {
+        return window.toNanos();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchPolicy{maxEvents=" + maxEvents + ", window=" + window.toMillis() + "ms}";
+    }
+}
@@ -0,0 +1,34 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bytes held in subscriber queues across the whole bus. Once over the cap, every
+ * subscriber with a backlog is treated as full, so its overflow policy sheds frames until
+ * the total falls back under.
+ */
+final class BufferBudget {
+
+    private final AtomicLong bytes = new AtomicLong();
+    private final long maxBytes;
+
+    BufferBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    void add(long delta) {
+        bytes.addAndGet(delta);
+    }
+
+    long bytes() {
+        return bytes.get();
+    }
+
+    long maxBytes() {
+        return maxBytes;
+    }
+
+    boolean exceeded() {
+        return maxBytes > 0 && bytes.get() >= maxBytes;
+    }
+}
@@ -0,0 +1,317 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only on-disk log of one channel's events, as a directory of segment files.
+ *
+ * Each segment is named after the first event id it holds and is memory-mapped at a fixed
+ * size, so an append is a copy into the page cache with no syscall. Records are
+ * {@code [len:int][crc:int][id:long][ts:long][flags:byte][name][kind][data]}; a zero length
+ * marks the unused tail of a segment, and a bad CRC (a torn write) ends recovery there.
+ * Writes survive a process restart; segments are forced to disk on roll and on close.
+ */
+final class ChannelJournal {
+    private static final Logger log = LoggerFactory.getLogger(ChannelJournal.class);
+
+    static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER = 8;            // len + crc
+    private static final byte FLAG_JSON = 1;
+
+    private final String channel;
+    private final Path dir;
+    private final long segmentBytes;
+
+    private FileChannel file;
+    private MappedByteBuffer segment;
+    private volatile long lastAppendMillis;
+    // Appended to since the last compaction (or since startup)
+    private volatile boolean dirty = true;
+
+    ChannelJournal(String channel, Path dir, long segmentBytes) {
+        this.channel = channel;
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.lastAppendMillis = lastModified(dir);
+    }
+
+    String channel() {
+        return channel;
+    }
+
+    Path dir() {
+        return dir;
+    }
+
+    long lastAppendMillis() {
+        return lastAppendMillis;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /** What recovery found on disk. */
+    record Recovered(long lastId, List<SseFrame> tail, boolean completed) {
+        static final Recovered EMPTY = new Recovered(0L, List.of(), false);
+    }
+
+    /**
+     * Scan every segment, keep the newest {@code tailSize} frames for the replay ring and
+     * position the writer after the last intact record.
+     */
+    synchronized Recovered recover(int tailSize) throws IOException {
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            return Recovered.EMPTY;
+        }
+        ArrayDeque<SseFrame> tail = new ArrayDeque<>(Math.max(1, tailSize));
+        long lastId = 0L;
+        String lastEvent = null;
+        for (int i = 0; i < segments.size(); i++) {
+            Path seg = segments.get(i);
+            boolean last = i == segments.size() - 1;
+            try (FileChannel ch = FileChannel.open(seg, StandardOpenOption.READ)) {
+                ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                while (true) {
+                    SseFrame frame = readRecord(buf);
+                    if (frame == null) {
+                        break;
+                    }
+                    lastId = frame.id();
+                    lastEvent = frame.eventName();
+                    if (tail.size() == tailSize) {
+                        tail.pollFirst();
+                    }
+                    if (tailSize > 0) {
+                        tail.addLast(frame);
+                    }
+                }
+                if (last) {
+                    openForAppend(seg, buf.position());
+                }
+            }
+        }
+        log.info("SSE journal recovered: channel={} lastId={} segments={}", channel, lastId, segments.size());
+        return new Recovered(lastId, new ArrayList<>(tail), "done".equals(lastEvent));
+    }
+
+    /** Events with {@code afterId < id < beforeId}, oldest first, at most the newest {@code max}. */
+    synchronized List<SseFrame> read(long afterId, long beforeId, int max) throws IOException {
+        ArrayDeque<SseFrame> out = new ArrayDeque<>();
+        List<Path> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            // Skip segments that end before afterId: the next one starts at or below it
+            if (i + 1 < segments.size() && firstId(segments.get(i + 1)) <= afterId + 1) {
+                continue;
+            }
+            if (firstId(segments.get(i)) >= beforeId) {
+                break;
+            }
+            try (FileChannel ch = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                SseFrame frame;
+                while ((frame = readRecord(buf)) != null && frame.id() < beforeId) {
+                    if (frame.id() > afterId) {
+                        if (out.size() == max) {
+                            out.pollFirst();
+                        }
+                        out.addLast(frame);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(out);
+    }
+
+    /** Append one event. Called under the channel monitor, so ids arrive in order. */
+    synchronized void append(SseFrame frame) {
+        byte[] name = frame.eventName().getBytes(StandardCharsets.UTF_8);
+        byte[] kind = frame.kind() == null ? null : frame.kind().getBytes(StandardCharsets.UTF_8);
+        byte[] data = frame.dataBytes();
+        int body = 8 + 8 + 1 + 2 + name.length + 2 + (kind == null ? 0 : kind.length) + 4 + data.length;
+        try {
+            if (segment == null || segment.remaining() < HEADER + body) {
+                roll(frame.id(), HEADER + body);
+            }
+            int start = segment.position();
+            segment.position(start + HEADER);
+            segment.putLong(frame.id());
+            segment.putLong(System.currentTimeMillis());
+            segment.put(frame.isJsonData() ? FLAG_JSON : 0);
+            segment.putShort((short) name.length).put(name);
+            if (kind == null) {
+                segment.putShort((short) -1);
+            } else {
+                segment.putShort((short) kind.length).put(kind);
+            }
+            segment.putInt(data.length).put(data);
+            int end = segment.position();
+
+            CRC32 crc = new CRC32();
+            crc.update(segment.slice(start + HEADER, body));
+            // Length last, so a reader never sees a length without its record
+            segment.putInt(start + 4, (int) crc.getValue());
+            segment.putInt(start, body);
+            segment.position(end);
+            lastAppendMillis = System.currentTimeMillis();
+            dirty = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("SSE journal append failed: channel=" + channel, e);
+        }
+    }
+
+    /** Flush and release the open segment; a later append reopens a new one. */
+    synchronized void close() {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException ignore) {}
+            file = null;
+        }
+    }
+
+    /**
+     * Rewrite all segments into one segment holding exactly its records, dropping the
+     * preallocated tails. Only for channels that no longer append.
+     */
+    synchronized long compact() throws IOException {
+        close();
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            return 0L;
+        }
+        long before = 0L;
+        for (Path seg : segments) {
+            before += Files.size(seg);
+        }
+        Path tmp = dir.resolve("compact.tmp");
+        long written = 0L;
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Path seg : segments) {
+                try (FileChannel in = FileChannel.open(seg, StandardOpenOption.READ)) {
+                    ByteBuffer buf = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                    int from = buf.position();
+                    while (readRecord(buf) != null) {
+                        // advance to the end of the intact records
+                    }
+                    ByteBuffer records = buf.slice(from, buf.position() - from);
+                    while (records.hasRemaining()) {
+                        written += out.write(records);
+                    }
+                }
+            }
+            out.force(true);
+        }
+        Path target = segments.get(0);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (int i = 1; i < segments.size(); i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+        dirty = false;
+        log.info("SSE journal compacted: channel={} segments={} bytes={}->{}", channel, segments.size(), before, written);
+        return before - written;
+    }
+
+    /** Remove every segment and the channel directory. */
+    synchronized void delete() throws IOException {
+        close();
+        for (Path seg : segments()) {
+            Files.deleteIfExists(seg);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private void roll(long firstId, int needed) throws IOException {
+        close();
+        Files.createDirectories(dir);
+        Path seg = dir.resolve(String.format("%020d%s", firstId, SEGMENT_SUFFIX));
+        file = FileChannel.open(seg, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = file.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentBytes, needed));
+    }
+
+    private void openForAppend(Path seg, int position) throws IOException {
+        file = FileChannel.open(seg, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // A compacted segment has no free tail; the first append rolls to a new one
+        segment = file.map(FileChannel.MapMode.READ_WRITE, 0, file.size());
+        segment.position(position);
+    }
+
+    private List<Path> segments() throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static long lastModified(Path dir) {
+        try {
+            return Files.isDirectory(dir) ? Files.getLastModifiedTime(dir).toMillis() : System.currentTimeMillis();
+        } catch (IOException e) {
+            return System.currentTimeMillis();
+        }
+    }
+
+    private static long firstId(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /** Decode the record at the buffer's position and advance past it; null at the end. */
+    private SseFrame readRecord(ByteBuffer buf) {
+        int start = buf.position();
+        if (buf.remaining() < HEADER) {
+            return null;
+        }
+        int body = buf.getInt(start);
+        if (body <= 0 || body > buf.remaining() - HEADER) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buf.slice(start + HEADER, body));
+        if ((int) crc.getValue() != buf.getInt(start + 4)) {
+            log.warn("SSE journal torn record: channel={} offset={}", channel, start);
+            return null;
+        }
+        buf.position(start + HEADER);
+        long id = buf.getLong();
+        buf.getLong(); // append time, informational
+        boolean json = (buf.get() & FLAG_JSON) != 0;
+        String name = string(buf, buf.getShort());
+        short kindLength = buf.getShort();
+        String kind = kindLength < 0 ? null : string(buf, kindLength);
+        byte[] data = new byte[buf.getInt()];
+        buf.get(data);
+        return SseFrame.event(channel, id, name, kind, data, json);
+    }
+
+    private static String string(ByteBuffer buf, int length) {
+        byte[] b = new byte[length];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
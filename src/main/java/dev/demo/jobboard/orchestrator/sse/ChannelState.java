@@ -0,0 +1,292 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Per-channel state: live subscribers plus a bounded ring of the most recent frames.
+ *
+ * Every published frame gets the next id of the channel's sequence. Appending to the ring,
+ * fanning out and replaying to a new subscriber all happen under the channel's monitor, so
+ * a subscriber that resumes from an id sees each later frame exactly once.
+ *
+ * With a journal the ring is only the hot tail: every frame is also appended to disk, a
+ * channel recreated after a restart continues its id sequence from there, and a resume
+ * from before the ring's oldest frame is served from the journal.
+ */
+final class ChannelState {
+    private static final Logger log = LoggerFactory.getLogger(ChannelState.class);
+
+    private final String channel;
+    private final ObjectMapper mapper;
+    private final SseFrame[] ring;
+    private final Set<SseSubscriber> subscribers = new CopyOnWriteArraySet<>();
+    private final ChannelJournal journal;     // null when journaling is off
+    private final int journalReplayMax;
+
+    private long lastId;      // id of the most recently published frame, 0 before the first
+    private int head;         // next ring slot to write
+    private int count;        // frames currently held
+    private boolean completed;
+    private boolean evicted;                  // dropped from the bus; callers must look the channel up again
+    private volatile long lastActivityNanos = System.nanoTime();
+    private volatile BatchPolicy batching;
+
+    ChannelState(String channel, int replayCapacity, ObjectMapper mapper) {
+        this(channel, replayCapacity, mapper, null, ChannelJournal.Recovered.EMPTY, 0);
+    }
+
+    ChannelState(String channel, int replayCapacity, ObjectMapper mapper,
+                 ChannelJournal journal, ChannelJournal.Recovered recovered, int journalReplayMax) {
+        this.channel = channel;
+        this.mapper = mapper;
+        this.ring = new SseFrame[Math.max(1, replayCapacity)];
+        this.journal = journal;
+        this.journalReplayMax = journalReplayMax;
+        this.lastId = recovered.lastId();
+        this.completed = recovered.completed();
+        for (SseFrame frame : recovered.tail()) {
+            remember(frame);
+        }
+    }
+
+    /** Whether frames are written to disk, which needs their bytes whoever subscribes. */
+    boolean isJournaled() {
+        return journal != null;
+    }
+
+    String channel() {
+        return channel;
+    }
+
+    Set<SseSubscriber> subscribers() {
+        return subscribers;
+    }
+
+    synchronized boolean isCompleted() {
+        return completed;
+    }
+
+    synchronized long lastId() {
+        return lastId;
+    }
+
+    /**
+     * Whether any live subscriber would take this event. A racing attach can make the
+     * answer stale; that only means a deferred frame is encoded on first replay.
+     */
+    boolean wanted(String eventName, String kind) {
+        for (SseSubscriber sub : subscribers) {
+            if (sub.accepts(eventName, kind)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Assign the next id, remember the frame and hand it to every live subscriber that
+     * accepts it. {@code data} is the payload as serialized by the caller outside the
+     * channel monitor, or null if nobody wanted it, in which case encoding is deferred.
+     */
+    synchronized SseFrame publish(String eventName, String kind, Object payload, byte[] data) {
+        if (evicted) {
+            return null;
+        }
+        lastActivityNanos = System.nanoTime();
+        SseFrame frame = data != null
+            ? SseFrame.event(channel, ++lastId, eventName, kind, data, SseFrame.isJson(payload))
+            : SseFrame.deferred(channel, ++lastId, eventName, kind, payload, mapper);
+        remember(frame);
+        if (journal != null) {
+            try {
+                journal.append(frame);
+            } catch (RuntimeException e) {
+                // Disk trouble must not stop live delivery; the ring still has the frame
+                log.warn("SSE journal append failed: channel={} id={} err={}", channel, frame.id(), e.toString());
+            }
+        }
+        for (SseSubscriber sub : subscribers) {
+            sub.offer(frame);
+        }
+        return frame;
+    }
+
+    /**
+     * Register a subscriber and queue every retained frame newer than {@code afterId}.
+     * A null {@code afterId} replays the whole ring.
+     *
+     * @return frames the client missed that were already evicted from the ring (0 if none),
+     *         or -1 if this channel was itself evicted and must be looked up again
+     */
+    synchronized long attach(SseSubscriber sub, Long afterId) {
+        if (evicted) {
+            return -1L;
+        }
+        lastActivityNanos = System.nanoTime();
+        long from = afterId == null ? 0L : afterId;
+        List<SseFrame> replay = since(from);
+        long oldest = replay.isEmpty() ? lastId + 1 : replay.get(0).id();
+        if (journal != null && oldest > from + 1) {
+            // Older than the ring: read the gap back from disk
+            List<SseFrame> older = fromJournal(from, oldest);
+            if (!older.isEmpty()) {
+                replay.addAll(0, older);
+                oldest = older.get(0).id();
+            }
+        }
+        long missed = Math.max(0L, oldest - from - 1);
+        if (missed > 0) {
+            replay.add(0, SseFrame.event(channel, 0L, "replayGap", null, SseFrame.data(Map.of(
+                "channel", channel, "lastEventId", from, "oldestAvailable", oldest, "missed", missed), mapper), true));
+        }
+        if (completed) {
+            // A multiplexed connection carries other channels; only a plain one closes here
+            if (!sub.isMux()) {
+                replay.add(SseFrame.closing());
+            }
+        } else {
+            if (!sub.isMux()) {
+                sub.channelBatching(batching);
+            }
+            subscribers.add(sub);
+        }
+        sub.preload(replay);
+        return missed;
+    }
+
+    /**
+     * Mark the channel finished: publish the final frame and detach live subscribers, which
+     * close once their queues drain. The ring stays so late clients can still replay.
+     */
+    synchronized Set<SseSubscriber> complete(String eventName, Object payload) {
+        if (evicted) {
+            return null;
+        }
+        if (completed) {
+            return Set.of();
+        }
+        publish(eventName, SseFrame.kindOf(payload), payload, SseFrame.data(payload, mapper));
+        completed = true;
+        if (journal != null) {
+            journal.close();
+        }
+        Set<SseSubscriber> live = Set.copyOf(subscribers);
+        subscribers.clear();
+        for (SseSubscriber sub : live) {
+            if (sub.isMux()) {
+                sub.channelCompleted(channel);
+            } else {
+                sub.offer(SseFrame.closing());
+            }
+        }
+        return live;
+    }
+
+    BatchPolicy batching() {
+        return batching;
+    }
+
+    /** Batch delivery for every subscriber on this channel that has no policy of its own. */
+    void batching(BatchPolicy policy) {
+        this.batching = policy;
+        for (SseSubscriber sub : subscribers) {
+            if (!sub.isMux()) {
+                sub.channelBatching(policy);
+            }
+        }
+    }
+
+    /** True if {@code sub} was subscribed. */
+    boolean remove(SseSubscriber sub) {
+        if (subscribers.remove(sub)) {
+            lastActivityNanos = System.nanoTime();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Drop the channel if nobody is subscribed and it has been quiet long enough: a shorter
+     * grace period once completed (late clients may still want the replay), a longer one for
+     * a channel that simply stopped publishing. After this, publish/attach/complete refuse.
+     */
+    synchronized boolean tryEvict(long nowNanos, long idleNanos, long completedNanos) {
+        if (evicted) {
+            return true;
+        }
+        if (!subscribers.isEmpty()) {
+            return false;
+        }
+        long idle = nowNanos - lastActivityNanos;
+        if (idle < (completed ? completedNanos : idleNanos)) {
+            return false;
+        }
+        evicted = true;
+        Arrays.fill(ring, null);
+        count = 0;
+        if (journal != null) {
+            journal.close();
+        }
+        return true;
+    }
+
+    synchronized ChannelStats stats(long nowNanos) {
+        long ringBytes = 0;
+        for (int i = 0; i < ring.length; i++) {
+            if (ring[i] != null) {
+                ringBytes += ring[i].weight();
+            }
+        }
+        int queuedFrames = 0;
+        long queuedBytes = 0;
+        long dropped = 0;
+        for (SseSubscriber sub : subscribers) {
+            queuedFrames += sub.queued();
+            queuedBytes += sub.queuedBytes();
+            dropped += sub.dropped();
+        }
+        return new ChannelStats(channel, subscribers.size(), lastId, completed, count, ringBytes,
+            queuedFrames, queuedBytes, dropped, TimeUnit.NANOSECONDS.toMillis(nowNanos - lastActivityNanos));
+    }
+
+    private void remember(SseFrame frame) {
+        ring[head] = frame;
+        head = (head + 1) % ring.length;
+        if (count < ring.length) {
+            count++;
+        }
+    }
+
+    private List<SseFrame> fromJournal(long afterId, long beforeId) {
+        try {
+            return journal.read(afterId, beforeId, journalReplayMax);
+        } catch (IOException | RuntimeException e) {
+            log.warn("SSE journal read failed: channel={} after={} err={}", channel, afterId, e.toString());
+            return List.of();
+        }
+    }
+
+    private List<SseFrame> since(long afterId) {
+        List<SseFrame> out = new ArrayList<>();
+        int start = (head - count + ring.length) % ring.length;
+        for (int i = 0; i < count; i++) {
+            SseFrame frame = ring[(start + i) % ring.length];
+            if (frame.id() > afterId) {
+                out.add(frame);
+            }
+        }
+        return out;
+    }
+}
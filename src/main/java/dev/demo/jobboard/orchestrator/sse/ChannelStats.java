@@ -0,0 +1,35 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+/**
+ * Point-in-time memory and delivery figures for one channel, from {@link SseEventBus#stats()}.
+ */
+public final class ChannelStats {
+    public final String channel;
+    public final int subscribers;
+    public final long lastId;
+    public final boolean completed;
+    /** Frames held in the replay ring and their encoded size (deferred frames count 0). */
+    public final int ringFrames;
+    public final long ringBytes;
+    /** Frames waiting in this channel's subscriber queues and their size. */
+    public final int queuedFrames;
+    public final long queuedBytes;
+    /** Frames shed by overflow policies across current subscribers. */
+    public final long dropped;
+    /** Time since the last publish or subscription change. */
+    public final long idleMillis;
+
+    public ChannelStats(String channel, int subscribers, long lastId, boolean completed, int ringFrames,
+                        long ringBytes, int queuedFrames, long queuedBytes, long dropped, long idleMillis) {
+        this.channel = channel;
+        this.subscribers = subscribers;
+        this.lastId = lastId;
+        this.completed = completed;
+        this.ringFrames = ringFrames;
+        this.ringBytes = ringBytes;
+        this.queuedFrames = queuedFrames;
+        this.queuedBytes = queuedBytes;
+        this.dropped = dropped;
+        this.idleMillis = idleMillis;
+    }
+}
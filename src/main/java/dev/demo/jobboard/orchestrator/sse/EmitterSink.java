@@ -0,0 +1,32 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Writes pre-encoded frames to a servlet {@link SseEmitter} as raw bytes. */
+final class EmitterSink implements SseSink {
+
+    private final SseEmitter emitter;
+
+    EmitterSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    @Override
+    public boolean ready() {
+        return true;
+    }
+
+    @Override
+    public void send(SseFrame frame) throws Exception {
+        emitter.send(frame.parts());
+    }
+
+    @Override
+    public void complete() {
+        emitter.complete();
+    }
+}
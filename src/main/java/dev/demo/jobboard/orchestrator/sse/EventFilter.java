@@ -0,0 +1,63 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Server-side selection of the events a subscriber receives, checked when an event is
+ * queued so rejected events cost that subscriber no encoding or bandwidth.
+ *
+ * An event passes when its name is in {@code events} (or {@code events} is empty) and its
+ * payload's {@code kind} is in {@code kinds} (or {@code kinds} is empty). Stream control
+ * events ({@code done}, {@code replayGap}) always pass so clients still see the end of a run.
+ */
+public final class EventFilter {
+
+    private static final Set<String> CONTROL_EVENTS = Set.of("done", "replayGap");
+    private static final EventFilter ALL = new EventFilter(Set.of(), Set.of());
+
+    private final Set<String> events;
+    private final Set<String> kinds;
+
+    private EventFilter(Set<String> events, Set<String> kinds) {
+        this.events = events;
+        this.kinds = kinds;
+    }
+
+    /** A filter that accepts everything. */
+    public static EventFilter all() {
+        return ALL;
+    }
+
+    /** Null or empty collections mean "any". */
+    public static EventFilter of(Collection<String> events, Collection<String> kinds) {
+        Set<String> e = events == null ? Set.of() : Set.copyOf(events);
+        Set<String> k = kinds == null ? Set.of() : Set.copyOf(kinds);
+        return e.isEmpty() && k.isEmpty() ? ALL : new EventFilter(e, k);
+    }
+
+    public boolean acceptsAll() {
+        return this == ALL;
+    }
+
+    public boolean accepts(String eventName, String kind) {
+        if (this == ALL || CONTROL_EVENTS.contains(eventName)) {
+            return true;
+        }
+        return (events.isEmpty() || events.contains(eventName))
+            && (kinds.isEmpty() || (kind != null && kinds.contains(kind)));
+    }
+
+    public Set<String> getEvents() {
+        return events;
+    }
+
+    public Set<String> getKinds() {
+        return kinds;
+    }
+
+    @Override
+    public String toString() {
+        return "EventFilter{events=" + events + ", kinds=" + kinds + "}";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Root of the on-disk event journal: one {@link ChannelJournal} directory per channel.
+ *
+ * A maintenance task deletes channels with no appends within the retention period and
+ * compacts channels that have been idle for {@code compactAfter} into a single segment.
+ */
+final class EventJournal {
+    private static final Logger log = LoggerFactory.getLogger(EventJournal.class);
+
+    private final Path root;
+    private final long segmentBytes;
+    private final Duration retention;
+    private final Duration compactAfter;
+    private final ConcurrentMap<String, ChannelJournal> journals = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sse-journal");
+        t.setDaemon(true);
+        return t;
+    });
+
+    EventJournal(Path root, long segmentBytes, Duration retention, Duration compactAfter, Duration interval) {
+        this.root = root;
+        this.segmentBytes = Math.max(4096, segmentBytes);
+        this.retention = retention;
+        this.compactAfter = compactAfter;
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create SSE journal directory " + root, e);
+        }
+        long everyMs = Math.max(1000, interval.toMillis());
+        maintenance.scheduleWithFixedDelay(this::maintain, everyMs, everyMs, TimeUnit.MILLISECONDS);
+        log.info("SSE journal: dir={} segmentBytes={} retention={} compactAfter={}",
+            root.toAbsolutePath(), this.segmentBytes, retention, compactAfter);
+    }
+
+    /** The journal for a channel, whether or not anything was written to it yet. */
+    ChannelJournal open(String channel) {
+        return journals.computeIfAbsent(channel, c -> new ChannelJournal(c, root.resolve(dirName(c)), segmentBytes));
+    }
+
+    void shutdown() {
+        maintenance.shutdownNow();
+        journals.values().forEach(ChannelJournal::close);
+    }
+
+    void maintain() {
+        long now = System.currentTimeMillis();
+        try (Stream<Path> dirs = Files.list(root)) {
+            for (Path dir : dirs.filter(Files::isDirectory).toList()) {
+                ChannelJournal journal = open(channelName(dir));
+                long idleMs = now - journal.lastAppendMillis();
+                try {
+                    if (retention.toMillis() > 0 && idleMs > retention.toMillis()) {
+                        // The instance stays registered: a live channel keeps appending through it
+                        journal.delete();
+                        log.info("SSE journal expired: channel={} idle={}s", journal.channel(), idleMs / 1000);
+                    } else if (journal.isDirty() && idleMs > compactAfter.toMillis()) {
+                        journal.compact();
+                    }
+                } catch (IOException e) {
+                    log.warn("SSE journal maintenance failed: channel={} err={}", journal.channel(), e.toString());
+                }
+            }
+        } catch (Exception e) {
+            // Never let one bad pass cancel the schedule
+            log.warn("SSE journal maintenance pass failed: err={}", e.toString());
+        }
+    }
+
+    // Channel names become directory names; dots are escaped too so ".." can never appear
+    private static String dirName(String channel) {
+        return URLEncoder.encode(channel, StandardCharsets.UTF_8).replace(".", "%2E").replace("*", "%2A");
+    }
+
+    private static String channelName(Path dir) {
+        return URLDecoder.decode(dir.getFileName().toString(), StandardCharsets.UTF_8);
+    }
+}
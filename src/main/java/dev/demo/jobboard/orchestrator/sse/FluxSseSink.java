@@ -0,0 +1,34 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import org.springframework.http.codec.ServerSentEvent;
+
+import reactor.core.publisher.FluxSink;
+
+/**
+ * Emits frames into a {@link FluxSink} only while the downstream has requested more, so
+ * a slow client leaves frames in the subscriber's bounded queue instead of in an
+ * unbounded reactive buffer.
+ */
+final class FluxSseSink implements SseSink {
+
+    private final FluxSink<ServerSentEvent<String>> sink;
+
+    FluxSseSink(FluxSink<ServerSentEvent<String>> sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public boolean ready() {
+        return sink.requestedFromDownstream() > 0 && !sink.isCancelled();
+    }
+
+    @Override
+    public void send(SseFrame frame) {
+        sink.next(frame.toServerSentEvent());
+    }
+
+    @Override
+    public void complete() {
+        sink.complete();
+    }
+}
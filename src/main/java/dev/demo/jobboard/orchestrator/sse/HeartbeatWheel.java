@@ -0,0 +1,140 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Keepalive pings for every SSE connection, driven by one hashed timing wheel.
+ *
+ * The wheel has {@code interval / tick} slots and a single thread visits one slot per tick,
+ * so each connection is looked at once per interval with no per-connection timer. A
+ * connection that wrote real traffic within the interval is skipped; the rest get a comment
+ * frame queued, which the writer pool sends. Per-tick work is roughly connections / slots.
+ */
+final class HeartbeatWheel {
+    private static final Logger log = LoggerFactory.getLogger(HeartbeatWheel.class);
+
+    private final List<Set<SseSubscriber>> slots;
+    private final long intervalNanos;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicInteger placement = new AtomicInteger();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong lastTickPings = new AtomicLong();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sse-heartbeats");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Timer tickTimer;
+    private final DistributionSummary pingsPerTick;
+    private final Counter pingsSent;
+    private final Counter pingsSkipped;
+
+    HeartbeatWheel(Duration interval, Duration tick, MeterRegistry registry) {
+        long tickMs = Math.max(10, tick.toMillis());
+        long intervalMs = Math.max(tickMs, interval.toMillis());
+        int slotCount = (int) Math.max(1, intervalMs / tickMs);
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(ConcurrentHashMap.newKeySet());
+        }
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+
+        if (registry != null) {
+            tickTimer = Timer.builder("sse.heartbeat.tick")
+                .description("Time spent per heartbeat wheel tick")
+                .register(registry);
+            pingsPerTick = DistributionSummary.builder("sse.heartbeat.pings.per.tick")
+                .description("Pings queued per heartbeat wheel tick")
+                .register(registry);
+            pingsSent = Counter.builder("sse.heartbeat.pings").tag("result", "sent").register(registry);
+            pingsSkipped = Counter.builder("sse.heartbeat.pings").tag("result", "skipped").register(registry);
+            Gauge.builder("sse.heartbeat.connections", connections, AtomicInteger::get).register(registry);
+        } else {
+            tickTimer = null;
+            pingsPerTick = null;
+            pingsSent = null;
+            pingsSkipped = null;
+        }
+
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        log.info("SSE heartbeat wheel: interval={}ms tick={}ms slots={}", intervalMs, tickMs, slotCount);
+    }
+
+    void register(SseSubscriber sub) {
+        // Round-robin placement spreads connections that arrive in a burst across the wheel
+        int slot = Math.floorMod(placement.getAndIncrement(), slots.size());
+        sub.heartbeatSlot(slot);
+        if (slots.get(slot).add(sub)) {
+            connections.incrementAndGet();
+        }
+    }
+
+    void unregister(SseSubscriber sub) {
+        int slot = sub.heartbeatSlot();
+        if (slot >= 0 && slots.get(slot).remove(sub)) {
+            connections.decrementAndGet();
+        }
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    long lastTickPings() {
+        return lastTickPings.get();
+    }
+
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        int slot = Math.floorMod(cursor.getAndIncrement(), slots.size());
+        long sent = 0;
+        long skipped = 0;
+        try {
+            for (SseSubscriber sub : slots.get(slot)) {
+                if (sub.isClosed()) {
+                    unregister(sub);
+                    continue;
+                }
+                if (start - sub.lastActivityNanos() < intervalNanos) {
+                    skipped++;
+                    continue;
+                }
+                sub.offerHeartbeat();
+                sent++;
+            }
+        } catch (Exception e) {
+            // Never let one bad tick cancel the schedule
+            log.warn("SSE heartbeat tick failed: slot={} err={}", slot, e.toString());
+        }
+        lastTickPings.set(sent);
+        if (tickTimer != null) {
+            tickTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            pingsPerTick.record(sent);
+            pingsSent.increment(sent);
+            pingsSkipped.increment(skipped);
+        }
+    }
+}
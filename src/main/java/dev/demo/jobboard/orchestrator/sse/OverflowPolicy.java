@@ -0,0 +1,13 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+/**
+ * What a subscriber does when its send queue is full and another frame arrives.
+ */
+public enum OverflowPolicy {
+    /** Discard the oldest queued frame to make room. */
+    DROP_OLDEST,
+    /** Discard the oldest queued frame with the same event name (latest wins), else the oldest frame. */
+    COALESCE,
+    /** Close the connection; the client is expected to reconnect. */
+    DISCONNECT
+}
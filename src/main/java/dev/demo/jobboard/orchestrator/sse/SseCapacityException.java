@@ -0,0 +1,16 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a new subscription would exceed {@code sse.max-subscribers}. Surfaces as
+ * 503 so clients back off and retry instead of holding a connection the node cannot serve.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SseCapacityException extends RuntimeException {
+
+    public SseCapacityException(String message) {
+        super(message);
+    }
+}
@@ -1,46 +1,141 @@
 package dev.demo.jobboard.orchestrator.sse;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+
+import dev.demo.jobboard.orchestrator.config.SseProperties;
 import jakarta.servlet.http.HttpServletResponse;
 
 public class SseEventBus {
     private static final Logger log = LoggerFactory.getLogger(SseEventBus.class);
 
-    // channel -> subscribers
-    private final ConcurrentMap<String, CopyOnWriteArraySet<SseEmitter>> subscribers = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService heartbeats = Executors.newScheduledThreadPool(1, r -> {
-        Thread t = new Thread(r, "sse-heartbeats");
+    // channel -> subscribers + replay ring
+    private final ConcurrentMap<String, ChannelState> channels = new ConcurrentHashMap<>();
+    // mux session id -> the one subscriber carrying all of its channels
+    private final ConcurrentMap<String, SseSubscriber> muxSessions = new ConcurrentHashMap<>();
+    // One timing wheel pings every connection, whichever endpoint created it
+    private final HeartbeatWheel heartbeats;
+    // Drains subscriber queues; publishers never touch a socket
+    private final ExecutorService writers;
+    // Wakes writers whose partial batch reached its window, and runs the idle sweep
+    private final ScheduledExecutorService timers = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sse-timers");
         t.setDaemon(true);
         return t;
     });
 
     private final Duration emitterTimeout;
-    private final Duration heartbeatEvery;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final int replayCapacity;
+    private final ObjectMapper mapper;
+    // Durable copy of every channel; null unless sse.journal-enabled
+    private final EventJournal journal;
+    private final int journalReplayMax;
+
+    // Memory limits: live subscribers (a mux session counts once) and bytes queued to them
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final int maxSubscribers;
+    private final BufferBudget budget;
+    private final long channelIdleNanos;
+    private final long completedChannelNanos;
+    private final long stallNanos;
+    private final Counter evictions;
+    // Told when a channel that has not completed loses its last subscriber; may be null
+    private volatile Consumer<String> lastSubscriberListener;
 
     public SseEventBus() {
         this(Duration.ofMinutes(30), Duration.ofSeconds(20));
     }
 
     public SseEventBus(Duration emitterTimeout, Duration heartbeatEvery) {
-        this.emitterTimeout = emitterTimeout;
-        this.heartbeatEvery = heartbeatEvery;
+        this(defaults(emitterTimeout, heartbeatEvery));
+    }
+
+    public SseEventBus(SseProperties props) {
+        this(props, new ObjectMapper().findAndRegisterModules());
+    }
+
+    public SseEventBus(SseProperties props, ObjectMapper mapper) {
+        this(props, mapper, null);
+    }
+
+    public SseEventBus(SseProperties props, ObjectMapper mapper, MeterRegistry meterRegistry) {
+        this.mapper = mapper;
+        this.emitterTimeout = props.getEmitterTimeout();
+        this.heartbeats = new HeartbeatWheel(props.getHeartbeatInterval(), props.getHeartbeatTick(), meterRegistry);
+        this.queueCapacity = props.getQueueCapacity();
+        this.overflowPolicy = props.getOverflowPolicy();
+        this.replayCapacity = props.getReplayBufferSize();
+        this.journal = props.isJournalEnabled()
+            ? new EventJournal(Path.of(props.getJournalDir()), props.getJournalSegmentSize().toBytes(),
+                props.getJournalRetention(), props.getJournalCompactAfter(), props.getJournalMaintenanceInterval())
+            : null;
+        this.journalReplayMax = props.getJournalReplayMax();
+        this.maxSubscribers = props.getMaxSubscribers();
+        this.budget = new BufferBudget(props.getMaxBufferedBytes().toBytes());
+        this.channelIdleNanos = props.getChannelIdleTimeout().toNanos();
+        this.completedChannelNanos = props.getCompletedChannelTtl().toNanos();
+        this.stallNanos = props.getSubscriberStallTimeout().toNanos();
+        if (meterRegistry != null) {
+            Gauge.builder("sse.channels", channels, Map::size).register(meterRegistry);
+            Gauge.builder("sse.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+            Gauge.builder("sse.buffered.bytes", budget, BufferBudget::bytes)
+                .description("Bytes queued to SSE subscribers across all channels")
+                .register(meterRegistry);
+            this.evictions = Counter.builder("sse.channels.evicted").register(meterRegistry);
+        } else {
+            this.evictions = null;
+        }
+        long sweepMs = Math.max(1000, props.getSweepInterval().toMillis());
+        timers.scheduleWithFixedDelay(this::sweep, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+        AtomicInteger seq = new AtomicInteger();
+        // sse.writer-threads stay up; beyond them the pool grows on demand, so a send blocked on a
+        // stuck socket holds only its own thread and never delays other subscribers. A subscriber
+        // has at most a drain and a close in flight, so threads stay bounded by subscribers.
+        this.writers = new ThreadPoolExecutor(Math.max(1, props.getWriterThreads()), Integer.MAX_VALUE,
+            60L, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                Thread t = new Thread(r, "sse-writer-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+    }
+
+    private static SseProperties defaults(Duration emitterTimeout, Duration heartbeatEvery) {
+        SseProperties props = new SseProperties();
+        props.setEmitterTimeout(emitterTimeout);
+        props.setHeartbeatInterval(heartbeatEvery);
+        return props;
     }
 
     public SseEmitter subscribe(String channel) {
@@ -49,6 +144,14 @@ public class SseEventBus {
 
     // Optional: pass HttpServletResponse from controller to set headers
     public SseEmitter subscribe(String channel, HttpServletResponse response) {
+        return subscribe(channel, response, null);
+    }
+
+    /**
+     * Subscribe and replay retained events newer than {@code lastEventId} (the SSE
+     * Last-Event-ID header). A null or unparsable id replays everything still buffered.
+     */
+    public SseEmitter subscribe(String channel, HttpServletResponse response, String lastEventId) {
         Objects.requireNonNull(channel, "channel");
 
         if (response != null) {
@@ -62,25 +165,7 @@ public class SseEventBus {
         long timeoutMs = emitterTimeout.toMillis();
         SseEmitter emitter = new SseEmitter(timeoutMs <= 0 ? 0L : timeoutMs);
 
-        subscribers.computeIfAbsent(channel, k -> new CopyOnWriteArraySet<>()).add(emitter);
-
-        AtomicLong lastBeat = new AtomicLong(System.currentTimeMillis());
-
-        // Lifecycle
-        emitter.onCompletion(() -> {
-            remove(channel, emitter);
-            log.info("SSE completion: channel={} subscribersNow={}", channel, size(channel));
-        });
-        emitter.onTimeout(() -> {
-            remove(channel, emitter);
-            log.info("SSE completion: channel={} subscribersNow={}", channel, size(channel));
-        });
-        emitter.onError((ex) -> {
-            remove(channel, emitter);
-            log.debug("SSE error: channel={} err={}", channel, ex.toString());
-        });
-
-        // Initial "connected" event
+        // Initial "connected" event; the emitter is not yet handed to MVC so this is buffered, not written
         try {
             emitter.send(SseEmitter.event()
                 .name("connected")
@@ -90,21 +175,7 @@ public class SseEventBus {
             log.warn("Failed to send initial connected event: channel={}", channel, e);
         }
 
-        // Schedule heartbeats as SSE comments
-        ScheduledFuture<?> hb = heartbeats.scheduleAtFixedRate(() -> {
-            try {
-                emitter.send(SseEmitter.event().comment("ping " + System.currentTimeMillis()));
-                lastBeat.set(System.currentTimeMillis());
-            } catch (Exception e) {
-                // client disconnected or network issue; cleanup will happen via onError
-                remove(channel, emitter);
-            }
-        }, heartbeatEvery.toSeconds(), heartbeatEvery.toSeconds(), TimeUnit.SECONDS);
-
-        // Cancel heartbeat when emitter completes
-        emitter.onCompletion(() -> hb.cancel(false));
-        emitter.onTimeout(() -> hb.cancel(false));
-        emitter.onError((ex) -> hb.cancel(false));
+        register(channel, emitter, SubscribeOptions.defaults().lastEventId(lastEventId));
 
         log.info("SSE subscribed: channel={} subscribersNow={}", channel, size(channel));
         return emitter;
@@ -114,24 +185,24 @@ public class SseEventBus {
      * Attach an existing SseEmitter to a specific channel to receive events
      */
     public void attachEmitter(String channel, SseEmitter emitter) {
+        attachEmitter(channel, emitter, SubscribeOptions.defaults());
+    }
+
+    /**
+     * Attach an existing SseEmitter and replay retained events newer than {@code lastEventId}
+     */
+    public void attachEmitter(String channel, SseEmitter emitter, String lastEventId) {
+        attachEmitter(channel, emitter, SubscribeOptions.defaults().lastEventId(lastEventId));
+    }
+
+    /**
+     * Attach an existing SseEmitter with explicit subscription options (resume point, batching)
+     */
+    public void attachEmitter(String channel, SseEmitter emitter, SubscribeOptions options) {
         Objects.requireNonNull(channel, "channel");
         Objects.requireNonNull(emitter, "emitter");
 
-        subscribers.computeIfAbsent(channel, k -> new CopyOnWriteArraySet<>()).add(emitter);
-
-        // Set up lifecycle handlers for this externally created emitter
-        emitter.onCompletion(() -> {
-            remove(channel, emitter);
-            log.info("SSE completion: channel={} subscribersNow={}", channel, size(channel));
-        });
-        emitter.onTimeout(() -> {
-            remove(channel, emitter);
-            log.info("SSE timeout: channel={} subscribersNow={}", channel, size(channel));
-        });
-        emitter.onError((ex) -> {
-            remove(channel, emitter);
-            log.debug("SSE error: channel={} err={}", channel, ex.toString());
-        });
+        register(channel, emitter, options == null ? SubscribeOptions.defaults() : options);
 
         log.info("SSE emitter attached: channel={} subscribersNow={}", channel, size(channel));
     }
@@ -140,63 +211,414 @@ public class SseEventBus {
      * Remove an SseEmitter from a specific channel
      */
     public void unsubscribe(String channel, SseEmitter emitter) {
-        remove(channel, emitter);
+        ChannelState state = channels.get(channel);
+        if (state != null) {
+            for (SseSubscriber sub : state.subscribers()) {
+                if (sub.emitter() == emitter) {
+                    sub.close(false);
+                }
+            }
+        }
         log.info("SSE emitter unsubscribed: channel={} subscribersNow={}", channel, size(channel));
     }
 
+    /**
+     * Record an event in the channel's replay ring and queue it for every subscriber whose
+     * filter accepts it. The payload is serialized at most once, whatever the number of
+     * subscribers, and not at all while nobody wants it; with no subscribers the event is
+     * only buffered. Returns without waiting on any socket.
+     */
     public void publish(String channel, String eventName, Object payload) {
-        Set<SseEmitter> subs = subscribers.get(channel);
-        int subsCount = subs == null ? 0 : subs.size();
-        log.info("SSE publish: channel={} event={} subs={}", channel, eventName, subsCount);
-        if (subsCount == 0) {
-            log.warn("SSE publish buffered but no subscribers currently attached. channel={} event={}", channel, eventName);
+        String kind = SseFrame.kindOf(payload);
+        ChannelState state;
+        byte[] data;
+        SseFrame frame;
+        do {
+            // Retried only if the sweeper evicted the channel in between
+            state = channel(channel);
+            data = state.isJournaled() || state.wanted(eventName, kind) ? SseFrame.data(payload, mapper) : null;
+            frame = state.publish(eventName, kind, payload, data);
+        } while (frame == null && evicted(channel, state));
+        log.debug("SSE publish: channel={} event={} id={} subs={} encoded={}",
+            channel, eventName, frame.id(), state.subscribers().size(), data != null);
+    }
+
+    /**
+     * Publish already-encoded UTF-8 JSON as the event data, byte for byte. For producers
+     * that receive JSON (MCP output) and would otherwise parse it only to re-serialize it.
+     * {@code kind} is what the payload's "kind" field would have given; the array must not be
+     * modified afterwards.
+     */
+    public void publishRaw(String channel, String eventName, String kind, byte[] json) {
+        Objects.requireNonNull(json, "json");
+        ChannelState state;
+        SseFrame frame;
+        do {
+            state = channel(channel);
+            frame = state.publish(eventName, kind, null, json);
+        } while (frame == null && evicted(channel, state));
+        log.debug("SSE publish: channel={} event={} id={} subs={} raw={}",
+            channel, eventName, frame.id(), state.subscribers().size(), json.length);
+    }
+
+    public void complete(String channel, String reason) {
+        ChannelState state = channel(channel);
+        if (state.isCompleted()) {
+            log.info("SSE complete: channel={} already completed", channel);
             return;
         }
-        if (subs == null) return;
+        // The done frame queues behind anything still pending; each writer then completes its emitter
+        Set<SseSubscriber> subs;
+        while ((subs = state.complete("done", Map.of("ok", true, "reason", reason))) == null
+                && evicted(channel, state)) {
+            state = channel(channel);
+        }
+        log.info("SSE complete: channel={} subscribers={}", channel, subs.size());
+    }
+
+    /**
+     * Opt a channel into micro-batching (null turns it off). Applies to current and future
+     * subscribers that did not choose their own policy.
+     */
+    public void setBatching(String channel, BatchPolicy policy) {
+        channel(channel).batching(policy);
+        log.info("SSE batching: channel={} policy={}", channel, policy);
+    }
 
-        for (SseEmitter emitter : subs) {
+    /**
+     * The channel as a reactive stream. Frames are emitted only against downstream demand
+     * (under Spring MVC, one per completed socket write); until then they wait in the
+     * subscriber's bounded queue, where the overflow policy applies as for emitters.
+     * Cancelling the subscription closes the subscriber. Completes when the channel does.
+     */
+    public Flux<ServerSentEvent<String>> flux(String channel, SubscribeOptions options) {
+        Objects.requireNonNull(channel, "channel");
+        SubscribeOptions opts = options == null ? SubscribeOptions.defaults() : options;
+        return Flux.create(fluxSink -> {
+            SseSubscriber sub;
             try {
-                emitter.send(
-                    SseEmitter.event()
-                        .name(eventName)
-                        .data(payload)
-                );
-            } catch (IOException ex) {
-                log.warn("SSE send failed: channel={} event={} err={}", channel, eventName, ex.toString());
-                remove(channel, emitter);
+                sub = subscriber(channel, new FluxSseSink(fluxSink));
+            } catch (SseCapacityException e) {
+                fluxSink.error(e);
+                return;
             }
+            fluxSink.onRequest(n -> sub.demandAvailable());
+            fluxSink.onDispose(() -> {
+                sub.close(false);
+                log.info("SSE reactive closed: channel={} subscribersNow={}", channel, size(channel));
+            });
+            attach(channel, sub, opts);
+            log.info("SSE reactive subscribed: channel={} subscribersNow={}", channel, size(channel));
+        });
+    }
+
+    /**
+     * Open a multiplexed session on {@code emitter}: one connection, one queue and one
+     * heartbeat, carrying events from any number of channels. Every event is sent with data
+     * {@code {"requestId", "id", "data"}} and without an SSE id, since ids are per channel.
+     * Channels are added and removed with {@link #addToMux} / {@link #removeFromMux}.
+     *
+     * @return the session id
+     */
+    public String openMux(SseEmitter emitter, SubscribeOptions options) {
+        Objects.requireNonNull(emitter, "emitter");
+        admit("mux");
+        String sessionId = UUID.randomUUID().toString();
+        SseSubscriber sub = new SseSubscriber("mux:" + sessionId, new EmitterSink(emitter), queueCapacity, overflowPolicy,
+            writers, timers, budget, s -> {
+                subscriberCount.decrementAndGet();
+                muxSessions.remove(sessionId);
+                for (String channel : s.muxChannels()) {
+                    ChannelState state = channels.get(channel);
+                    if (state != null) {
+                        detach(state, s);
+                    }
+                }
+                heartbeats.unregister(s);
+            }, true);
+        muxSessions.put(sessionId, sub);
+        lifecycle(sub, "mux:" + sessionId);
+        heartbeats.register(sub);
+        if (options != null && options.getBatching() != null) {
+            sub.batching(options.getBatching());
         }
+        if (options != null) {
+            sub.filter(options.getFilter());
+        }
+        log.info("SSE mux opened: session={} sessionsNow={}", sessionId, muxSessions.size());
+        return sessionId;
     }
 
-    public void complete(String channel, String reason) {
-        Set<SseEmitter> subs = subscribers.get(channel);
-        if (subs == null || subs.isEmpty()) {
-            log.info("SSE complete: no subscribers for channel={}", channel);
-            return;
+    /**
+     * Add a channel to a mux session, replaying its retained events newer than
+     * {@code lastEventId} (the per-channel id carried in the tagged data).
+     *
+     * @return false if the session is unknown or already closed
+     */
+    public boolean addToMux(String sessionId, String channel, String lastEventId) {
+        SseSubscriber sub = muxSessions.get(sessionId);
+        if (sub == null || sub.isClosed()) {
+            return false;
         }
-        for (SseEmitter emitter : subs) {
+        if (!sub.muxChannels().add(channel)) {
+            return true;
+        }
+        Long afterId = parseEventId(lastEventId);
+        ChannelState state;
+        long missed;
+        do {
+            state = channel(channel);
+            missed = state.attach(sub, afterId);
+        } while (missed < 0 && evicted(channel, state));
+        if (state.isCompleted()) {
+            // Replayed up to its done event; nothing live left to follow
+            sub.channelCompleted(channel);
+        } else if (sub.isClosed()) {
+            // Closed while attaching; its onClose may have missed this channel
+            state.remove(sub);
+        }
+        log.info("SSE mux add: session={} channel={} lastEventId={} missed={}", sessionId, channel, afterId, missed);
+        return true;
+    }
+
+    /**
+     * Stop delivering a channel on a mux session. Frames already queued still go out.
+     *
+     * @return false if the session is unknown
+     */
+    public boolean removeFromMux(String sessionId, String channel) {
+        SseSubscriber sub = muxSessions.get(sessionId);
+        if (sub == null) {
+            return false;
+        }
+        if (sub.muxChannels().remove(channel)) {
+            ChannelState state = channels.get(channel);
+            if (state != null) {
+                detach(state, sub);
+            }
+        }
+        log.info("SSE mux remove: session={} channel={}", sessionId, channel);
+        return true;
+    }
+
+    /** Stop background threads and flush the journal. Called by the container on shutdown. */
+    public void shutdown() {
+        heartbeats.shutdown();
+        timers.shutdownNow();
+        writers.shutdown();
+        if (journal != null) {
+            journal.shutdown();
+        }
+    }
+
+    private ChannelState channel(String channel) {
+        return channels.computeIfAbsent(channel, this::newChannel);
+    }
+
+    private ChannelState newChannel(String channel) {
+        if (journal == null) {
+            return new ChannelState(channel, replayCapacity, mapper);
+        }
+        ChannelJournal channelJournal = journal.open(channel);
+        ChannelJournal.Recovered recovered;
+        try {
+            // After a restart this picks up the id sequence, the hot tail and completion
+            recovered = channelJournal.recover(replayCapacity);
+        } catch (IOException | RuntimeException e) {
+            log.warn("SSE journal recovery failed, starting empty: channel={} err={}", channel, e.toString());
+            recovered = ChannelJournal.Recovered.EMPTY;
+        }
+        return new ChannelState(channel, replayCapacity, mapper, channelJournal, recovered, journalReplayMax);
+    }
+
+    private SseSubscriber register(String channel, SseEmitter emitter, SubscribeOptions options) {
+        SseSubscriber sub = subscriber(channel, new EmitterSink(emitter));
+        lifecycle(sub, channel);
+        attach(channel, sub, options);
+        return sub;
+    }
+
+    private SseSubscriber subscriber(String channel, SseSink sink) {
+        admit(channel);
+        return new SseSubscriber(channel, sink, queueCapacity, overflowPolicy, writers, timers, budget, s -> {
+            subscriberCount.decrementAndGet();
+            // Looked up at close: the channel may have been evicted and recreated since
+            ChannelState state = channels.get(channel);
+            if (state != null) {
+                detach(state, s);
+            }
+            heartbeats.unregister(s);
+        }, false);
+    }
+
+    private void detach(ChannelState state, SseSubscriber sub) {
+        Consumer<String> listener = lastSubscriberListener;
+        if (state.remove(sub) && listener != null && state.subscribers().isEmpty() && !state.isCompleted()) {
             try {
-                emitter.send(SseEmitter.event().name("done").data(Map.of("ok", true, "reason", reason)));
-                emitter.complete();
-            } catch (IOException e) {
-                remove(channel, emitter);
+                listener.accept(state.channel());
+            } catch (RuntimeException e) {
+                log.warn("SSE last-subscriber listener failed: channel={} err={}", state.channel(), e.toString());
             }
         }
-        subscribers.remove(channel);
     }
 
-    private void remove(String channel, SseEmitter emitter) {
-        Set<SseEmitter> subs = subscribers.get(channel);
-        if (subs != null) {
-            subs.remove(emitter);
-            if (subs.isEmpty()) {
-                subscribers.remove(channel);
+    private void admit(String channel) {
+        int live = subscriberCount.incrementAndGet();
+        if (maxSubscribers > 0 && live > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            log.warn("SSE subscriber limit reached: channel={} max={}", channel, maxSubscribers);
+            throw new SseCapacityException("SSE subscriber limit reached (" + maxSubscribers + ")");
+        }
+    }
+
+    /** Forget an evicted channel so the next lookup creates a fresh one. Always true. */
+    private boolean evicted(String channel, ChannelState state) {
+        channels.remove(channel, state);
+        return true;
+    }
+
+    /**
+     * Periodic cleanup: disconnect subscribers whose backlog has not moved, or whose current
+     * send has been blocked, for longer than the stall timeout (dead or stuck sockets), then
+     * evict channels nobody is using any more.
+     */
+    void sweep() {
+        long now = System.nanoTime();
+        int stalled = 0;
+        int evictedCount = 0;
+        try {
+            for (ChannelState state : channels.values()) {
+                for (SseSubscriber sub : state.subscribers()) {
+                    stalled += closeIfStalled(sub, now);
+                }
+                if (state.tryEvict(now, channelIdleNanos, completedChannelNanos)) {
+                    channels.remove(state.channel(), state);
+                    evictedCount++;
+                }
+            }
+            for (SseSubscriber sub : muxSessions.values()) {
+                stalled += closeIfStalled(sub, now);
             }
+        } catch (Exception e) {
+            // Never let one bad pass cancel the schedule
+            log.warn("SSE sweep failed: err={}", e.toString());
+        }
+        if (evictions != null) {
+            evictions.increment(evictedCount);
+        }
+        if (stalled > 0 || evictedCount > 0) {
+            log.info("SSE sweep: evictedChannels={} stalledSubscribers={} channelsNow={} subscribersNow={} bufferedBytes={}",
+                evictedCount, stalled, channels.size(), subscriberCount.get(), budget.bytes());
+        }
+    }
+
+    private int closeIfStalled(SseSubscriber sub, long now) {
+        if (stallNanos <= 0) {
+            return 0;
+        }
+        boolean backlogStuck = sub.queued() > 0 && now - sub.lastActivityNanos() > stallNanos;
+        if (backlogStuck || sub.sendBlockedNanos(now) > stallNanos) {
+            log.warn("SSE subscriber stalled, disconnecting: channel={} queued={}", sub.channel(), sub.queued());
+            // Frees its queue and slot now; the blocked writer thread is released once the
+            // container's write times out, and only then is the emitter completed
+            sub.close(true);
+            return 1;
+        }
+        return 0;
+    }
+
+    /** Per-channel memory and delivery figures, largest footprint first. */
+    public List<ChannelStats> stats() {
+        long now = System.nanoTime();
+        List<ChannelStats> out = new ArrayList<>();
+        for (ChannelState state : channels.values()) {
+            out.add(state.stats(now));
+        }
+        out.sort(Comparator.comparingLong((ChannelStats c) -> c.ringBytes + c.queuedBytes).reversed());
+        return out;
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /** Live subscribers of one channel, mux sessions included. */
+    public int subscriberCount(String channel) {
+        return size(channel);
+    }
+
+    /** Whether the channel exists and has been completed. */
+    public boolean isCompleted(String channel) {
+        ChannelState state = channels.get(channel);
+        return state != null && state.isCompleted();
+    }
+
+    /**
+     * Be told, with the channel name, whenever a channel that has not completed loses its last
+     * subscriber (disconnect, stall or removal from a mux session). Called on the thread that
+     * closed the subscriber, so the listener must not block. Replaces any previous listener.
+     */
+    public void onLastSubscriberLeft(Consumer<String> listener) {
+        this.lastSubscriberListener = listener;
+    }
+
+    public long bufferedBytes() {
+        return budget.bytes();
+    }
+
+    public long maxBufferedBytes() {
+        return budget.maxBytes();
+    }
+
+    private void attach(String channel, SseSubscriber sub, SubscribeOptions options) {
+        heartbeats.register(sub);
+        if (options.getBatching() != null) {
+            sub.batching(options.getBatching());
+        }
+        sub.filter(options.getFilter());
+
+        Long afterId = parseEventId(options.getLastEventId());
+        ChannelState state;
+        long missed;
+        do {
+            state = channel(channel);
+            missed = state.attach(sub, afterId);
+        } while (missed < 0 && evicted(channel, state));
+        if (afterId != null || missed > 0) {
+            log.info("SSE resume: channel={} lastEventId={} missed={}", channel, afterId, missed);
+        }
+    }
+
+    private void lifecycle(SseSubscriber sub, String channel) {
+        SseEmitter emitter = sub.emitter();
+        emitter.onCompletion(() -> {
+            sub.close(false);
+            log.info("SSE completion: channel={} subscribersNow={}", channel, size(channel));
+        });
+        emitter.onTimeout(() -> {
+            sub.close(false);
+            log.info("SSE timeout: channel={} subscribersNow={}", channel, size(channel));
+        });
+        emitter.onError((ex) -> {
+            sub.close(false);
+            log.debug("SSE error: channel={} err={}", channel, ex.toString());
+        });
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            log.debug("SSE ignoring non-numeric Last-Event-ID '{}'", lastEventId);
+            return null;
         }
     }
 
     private int size(String channel) {
-        Set<SseEmitter> subs = subscribers.get(channel);
-        return subs == null ? 0 : subs.size();
+        ChannelState state = channels.get(channel);
+        return state == null ? 0 : state.subscribers().size();
     }
-}
\ No newline at end of file
+}
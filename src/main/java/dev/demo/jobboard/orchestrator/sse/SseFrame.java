@@ -0,0 +1,476 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.demo.jobboard.orchestrator.util.Channels;
+
+/**
+ * A single event, encoded once into its SSE wire form and shared by every subscriber.
+ *
+ * The bytes are written through MVC's byte-array converter, so fan-out to N subscribers
+ * costs N buffer writes rather than N trips through Jackson. An event nobody wanted when it
+ * was published (every subscriber filtered it out) keeps its payload instead and is encoded
+ * the first time a replaying subscriber asks for it.
+ */
+final class SseFrame {
+    private static final Logger log = LoggerFactory.getLogger(SseFrame.class);
+
+    private static final byte[] ID = "id:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENT = "event:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DATA = "data:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BATCH_ID = "{\"id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BATCH_EVENT = ",\"event\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BATCH_DATA = "\",\"data\":".getBytes(StandardCharsets.UTF_8);
+
+    private static final SseFrame CLOSING = new SseFrame(null, 0L, null, null, new byte[0], null, false);
+    private static final byte[] TAG_REQUEST = "{\"requestId\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TAG_ID = ",\"id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TAG_DATA = ",\"data\":".getBytes(StandardCharsets.UTF_8);
+
+    // Deferred payloads are sized by walking at most this deep; anything below counts as a guess
+    private static final int ESTIMATE_DEPTH = 4;
+    private static final int ESTIMATE_UNKNOWN = 64;
+
+    private final String channel;
+    private final long id;
+    private final String eventName;
+    private final String kind;
+    private final boolean json;
+    private final long createdNanos = System.nanoTime();
+    // Encoded size; for a deferred event an estimate until it is encoded. Memory accounting
+    private volatile int weight;
+
+    // Encoded form; null until first use for a deferred event
+    private volatile Wire wire;
+    // Deferred events only: the payload to encode, released once encoded
+    private Object payload;
+    private ObjectMapper mapper;
+
+    // Multiplexed variant, built on first use and shared by every mux subscriber
+    private volatile SseFrame tagged;
+
+    private SseFrame(String channel, long id, String eventName, String kind, byte[] bytes, byte[] data, boolean json) {
+        this.channel = channel;
+        this.id = id;
+        this.eventName = eventName;
+        this.kind = kind;
+        this.json = json;
+        this.wire = new Wire(bytes, data);
+        this.weight = bytes.length;
+    }
+
+    private SseFrame(String channel, long id, String eventName, String kind, Object payload, ObjectMapper mapper) {
+        this.channel = channel;
+        this.id = id;
+        this.eventName = eventName;
+        this.kind = kind;
+        this.json = isJson(payload);
+        this.payload = payload;
+        this.mapper = mapper;
+        this.weight = 32 + eventName.length() + estimate(payload, ESTIMATE_DEPTH);
+    }
+
+    /**
+     * Serialize a payload to the bytes of its data field. Strings are sent verbatim (as
+     * SseEmitter does); anything else is written as JSON.
+     */
+    static byte[] data(Object payload, ObjectMapper mapper) {
+        if (payload instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return mapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("SSE payload is not serializable: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * The payload's {@code kind} field when it is a map or JSON object with a string kind,
+     * as workflow progress events are; null otherwise.
+     */
+    static String kindOf(Object payload) {
+        if (payload instanceof Map<?, ?> map) {
+            return map.get("kind") instanceof String k ? k : null;
+        }
+        if (payload instanceof JsonNode node) {
+            JsonNode k = node.get("kind");
+            return k != null && k.isTextual() ? k.asText() : null;
+        }
+        return null;
+    }
+
+    /** Whether {@link #data} produces JSON for this payload (everything except strings). */
+    static boolean isJson(Object payload) {
+        return !(payload instanceof String);
+    }
+
+    /**
+     * A named event over already-serialized JSON data. A positive id is written as the SSE
+     * {@code id:} field so clients can resume with Last-Event-ID; id 0 marks an
+     * out-of-band event that is not resumable.
+     */
+    static SseFrame event(long id, String eventName, byte[] data) {
+        return event(null, id, eventName, null, data, true);
+    }
+
+    /** An event published on {@code channel}; {@code json} is false for verbatim text data. */
+    static SseFrame event(String channel, long id, String eventName, String kind, byte[] data, boolean json) {
+        return new SseFrame(channel, id, eventName, kind, encode(id, eventName, data), data, json);
+    }
+
+    /**
+     * An event whose payload is serialized only when some subscriber first needs its bytes.
+     * The payload must not be modified after publishing.
+     */
+    static SseFrame deferred(String channel, long id, String eventName, String kind, Object payload, ObjectMapper mapper) {
+        return new SseFrame(channel, id, eventName, kind, payload, mapper);
+    }
+
+    static SseFrame comment(String text) {
+        return new SseFrame(null, 0L, null, null, (":" + text + "\n\n").getBytes(StandardCharsets.UTF_8), null, false);
+    }
+
+    /**
+     * Re-frame consecutive events as one {@code batch} event. Each element's data is copied
+     * as already serialized; the batch carries the last resumable id so Last-Event-ID still works.
+     */
+    static SseFrame batch(List<SseFrame> frames) {
+        int size = 2;
+        for (SseFrame f : frames) {
+            size += f.wire().dataLength + 48;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        JsonStringEncoder quoter = JsonStringEncoder.getInstance();
+        long lastId = 0L;
+        out.write('[');
+        for (int i = 0; i < frames.size(); i++) {
+            SseFrame f = frames.get(i);
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(BATCH_ID);
+            out.writeBytes(Long.toString(f.id).getBytes(StandardCharsets.US_ASCII));
+            out.writeBytes(BATCH_EVENT);
+            out.writeBytes(quoter.quoteAsUTF8(f.eventName));
+            out.writeBytes(BATCH_DATA);
+            f.writeJsonData(out);
+            out.write('}');
+            if (f.id > 0) {
+                lastId = f.id;
+            }
+        }
+        out.write(']');
+        return event(lastId, "batch", out.toByteArray());
+    }
+
+    /**
+     * Marker telling the writer to complete the emitter once everything queued before it is sent.
+     */
+    static SseFrame closing() {
+        return CLOSING;
+    }
+
+    boolean isClosing() {
+        return this == CLOSING;
+    }
+
+    long id() {
+        return id;
+    }
+
+    /**
+     * This event as sent on a multiplexed stream: same event name, no resumable id, and data
+     * wrapped as {requestId, id, data} so the client can route it. Encoded once per frame; a
+     * frame that is already tagged is returned as is, never wrapped twice.
+     */
+    SseFrame tagged() {
+        SseFrame t = tagged;
+        if (t == null && isEvent()) {
+            // Benign race: two writers may both build it; either result is identical
+            ByteArrayOutputStream out = new ByteArrayOutputStream(wire().dataLength + 64);
+            out.writeBytes(TAG_REQUEST);
+            out.write('"');
+            out.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(
+                channel == null ? "" : Channels.requestIdOf(channel)));
+            out.write('"');
+            out.writeBytes(TAG_ID);
+            out.writeBytes(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+            out.writeBytes(TAG_DATA);
+            writeJsonData(out);
+            out.write('}');
+            t = event(channel, 0L, eventName, kind, out.toByteArray(), true);
+            // The tagged form is its own tagged form
+            t.tagged = t;
+            tagged = t;
+        }
+        return t == null ? this : t;
+    }
+
+    String channel() {
+        return channel;
+    }
+
+    /** The event's data as published (a copy when it is stored inside the frame). */
+    byte[] dataBytes() {
+        Wire w = wire();
+        if (w.data != null) {
+            return w.data;
+        }
+        return Arrays.copyOfRange(w.bytes, w.dataOffset, w.dataOffset + w.dataLength);
+    }
+
+    /** Whether the data is JSON (false for verbatim text). */
+    boolean isJsonData() {
+        return json;
+    }
+
+    /** The payload's kind (see {@link #kindOf}), or null. */
+    String kind() {
+        return kind;
+    }
+
+    /** Event name, or null for comment frames. */
+    String eventName() {
+        return eventName;
+    }
+
+    /** True for named events (as opposed to comments and the closing marker). */
+    boolean isEvent() {
+        return eventName != null;
+    }
+
+    /**
+     * Bytes this frame is accounted for while buffered: its encoded size, or for a deferred
+     * event an estimate until it is first encoded. Queues charge what it was when they took it.
+     */
+    int weight() {
+        return weight;
+    }
+
+    /** {@link System#nanoTime()} at publish; the batching window is measured from here. */
+    long createdNanos() {
+        return createdNanos;
+    }
+
+    /** Write the data as a JSON value: as-is when it is JSON, quoted when it is text. */
+    private void writeJsonData(ByteArrayOutputStream out) {
+        Wire w = wire();
+        if (json) {
+            w.writeData(out);
+            return;
+        }
+        ByteArrayOutputStream text = new ByteArrayOutputStream(w.dataLength);
+        w.writeData(text);
+        out.write('"');
+        out.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(text.toString(StandardCharsets.UTF_8)));
+        out.write('"');
+    }
+
+    /**
+     * This frame for a reactive stream, where the framework does the SSE framing. Only the
+     * data is decoded; the payload is not serialized again.
+     */
+    ServerSentEvent<String> toServerSentEvent() {
+        if (!isEvent()) {
+            // Comment frames are ":text\n\n"
+            byte[] b = bytes();
+            return ServerSentEvent.<String>builder()
+                .comment(new String(b, 1, Math.max(0, b.length - 3), StandardCharsets.UTF_8))
+                .build();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(wire().dataLength);
+        wire().writeData(out);
+        ServerSentEvent.Builder<String> event = ServerSentEvent.<String>builder()
+            .event(eventName)
+            .data(out.toString(StandardCharsets.UTF_8));
+        if (id > 0) {
+            event.id(Long.toString(id));
+        }
+        return event.build();
+    }
+
+    /** The complete wire form, including the terminating blank line. Do not modify. */
+    byte[] bytes() {
+        return wire().bytes;
+    }
+
+    Set<DataWithMediaType> parts() {
+        return wire().parts;
+    }
+
+    private Wire wire() {
+        Wire w = wire;
+        if (w == null) {
+            synchronized (this) {
+                w = wire;
+                if (w == null) {
+                    byte[] data;
+                    try {
+                        data = data(payload, mapper);
+                    } catch (IllegalArgumentException e) {
+                        // Too late to fail the publisher; send a null rather than break the stream
+                        log.warn("SSE deferred payload not serializable: channel={} event={} id={} err={}",
+                            channel, eventName, id, e.getMessage());
+                        data = "null".getBytes(StandardCharsets.US_ASCII);
+                    }
+                    w = new Wire(encode(id, eventName, data), data);
+                    weight = w.bytes.length;
+                    wire = w;
+                    payload = null;
+                    mapper = null;
+                }
+            }
+        }
+        return w;
+    }
+
+    /**
+     * Rough JSON size of a payload, without serializing it: strings and the keys and values of
+     * maps and collections are counted down to {@code depth} levels.
+     */
+    private static int estimate(Object value, int depth) {
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() + 2;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 8;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (depth == 0) {
+            return ESTIMATE_UNKNOWN;
+        }
+        long size = 2;
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                size += estimate(String.valueOf(e.getKey()), 0) + 2 + estimate(e.getValue(), depth - 1);
+            }
+        } else if (value instanceof Collection<?> items) {
+            for (Object item : items) {
+                size += 1 + estimate(item, depth - 1);
+            }
+        } else if (value instanceof JsonNode node && node.isContainerNode()) {
+            for (JsonNode child : node) {
+                size += 8 + estimate(child, depth - 1);
+            }
+        } else if (value instanceof JsonNode node) {
+            size = node.isTextual() ? node.asText().length() + 2 : 8;
+        } else {
+            size = ESTIMATE_UNKNOWN;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    private static byte[] encode(long id, String eventName, byte[] data) {
+        byte[] idBytes = id > 0 ? Long.toString(id).getBytes(StandardCharsets.US_ASCII) : null;
+        byte[] nameBytes = eventName != null ? eventName.getBytes(StandardCharsets.UTF_8) : null;
+
+        // Size the frame exactly so the payload is copied once: one data: field per line
+        int lines = 1;
+        for (byte b : data) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        int size = data.length + lines * (DATA.length + 1) + 1;
+        if (idBytes != null) {
+            size += ID.length + idBytes.length + 1;
+        }
+        if (nameBytes != null) {
+            size += EVENT.length + nameBytes.length + 1;
+        }
+
+        byte[] out = new byte[size];
+        int pos = 0;
+        if (idBytes != null) {
+            pos = field(out, pos, ID, idBytes, 0, idBytes.length);
+        }
+        if (nameBytes != null) {
+            pos = field(out, pos, EVENT, nameBytes, 0, nameBytes.length);
+        }
+        int start = 0;
+        for (int i = 0; i <= data.length; i++) {
+            if (i == data.length || data[i] == '\n') {
+                int end = (i > start && data[i - 1] == '\r') ? i - 1 : i;
+                pos = field(out, pos, DATA, data, start, end - start);
+                start = i + 1;
+            }
+        }
+        out[pos++] = '\n';
+        // A stripped \r leaves the array one byte longer per CRLF line
+        return pos == out.length ? out : Arrays.copyOf(out, pos);
+    }
+
+    /**
+     * Offset of the data inside an encoded frame when it went out as a single data: line,
+     * which is always the trailing "data:...\n\n" of the frame; -1 if it was split.
+     */
+    private static int singleLineDataOffset(byte[] frame, byte[] data) {
+        for (byte b : data) {
+            if (b == '\n') {
+                return -1;
+            }
+        }
+        return frame.length - 2 - data.length;
+    }
+
+    private static int field(byte[] out, int pos, byte[] name, byte[] value, int off, int len) {
+        System.arraycopy(name, 0, out, pos, name.length);
+        pos += name.length;
+        System.arraycopy(value, off, out, pos, len);
+        pos += len;
+        out[pos++] = '\n';
+        return pos;
+    }
+
+    /**
+     * The encoded frame. The event's data is kept for re-framing (batches, tagging):
+     * single-line data is referenced in place inside bytes; multi-line data keeps its own copy.
+     */
+    private static final class Wire {
+        final byte[] bytes;
+        final Set<DataWithMediaType> parts;
+        final byte[] data;
+        final int dataOffset;
+        final int dataLength;
+
+        Wire(byte[] bytes, byte[] data) {
+            this.bytes = bytes;
+            this.parts = Set.of(new DataWithMediaType(bytes, MediaType.APPLICATION_OCTET_STREAM));
+            int at = data == null ? -1 : singleLineDataOffset(bytes, data);
+            this.data = at >= 0 ? null : data;
+            this.dataOffset = at;
+            this.dataLength = data == null ? 0 : data.length;
+        }
+
+        void writeData(ByteArrayOutputStream out) {
+            if (data != null) {
+                out.writeBytes(data);
+            } else {
+                out.write(bytes, dataOffset, dataLength);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+/**
+ * Where a subscriber's writer delivers frames: a servlet {@code SseEmitter} or a reactive
+ * stream. Only ever called from the subscriber's single active writer task.
+ */
+interface SseSink {
+
+    /**
+     * Whether the consumer can take a frame now. Emitters always can (the write blocks);
+     * a reactive stream can only while it has outstanding demand.
+     */
+    boolean ready();
+
+    void send(SseFrame frame) throws Exception;
+
+    void complete();
+}
@@ -0,0 +1,446 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One SSE connection on a channel.
+ *
+ * Publishers only ever {@link #offer} into a bounded queue; a writer task on the bus'
+ * shared executor drains it to the sink (an emitter or a reactive stream). A client on a bad link therefore only backs
+ * up its own queue, and the overflow policy decides what gives when that queue is full.
+ *
+ * A multiplexed subscriber is attached to several channels at once; its events go out
+ * as {@link SseFrame#tagged()} frames so the client can tell the channels apart.
+ */
+final class SseSubscriber {
+    private static final Logger log = LoggerFactory.getLogger(SseSubscriber.class);
+
+    // Frames written per writer turn before yielding the thread to other subscribers
+    private static final int DRAIN_BATCH = 64;
+
+    private final String channel;
+    private final SseSink sink;
+    private final int capacity;
+    private final OverflowPolicy overflow;
+    private final Executor writer;
+    private final ScheduledExecutorService timers;
+    private final BufferBudget budget;
+    private final Consumer<SseSubscriber> onClose;
+    private final boolean mux;
+    private final Set<String> muxChannels;
+
+    private final ArrayDeque<Queued> queue = new ArrayDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private long queuedBytes;   // guarded by queue
+    private volatile long lastActivityNanos = System.nanoTime();
+    // When the send in progress started, 0 when none is
+    private volatile long sendStartedNanos;
+    private volatile int heartbeatSlot = -1;
+
+    // Batching: an explicit per-subscriber policy wins over the channel's
+    private volatile BatchPolicy batching;
+    private volatile boolean explicitBatching;
+    private final AtomicBoolean batchTimerArmed = new AtomicBoolean();
+
+    private volatile EventFilter filter = EventFilter.all();
+
+    /**
+     * A queued frame and the bytes charged for it. A deferred frame's weight changes once it
+     * is encoded, so the charge is remembered and exactly that is released.
+     */
+    private record Queued(SseFrame frame, int charged) {}
+
+    SseSubscriber(String channel, SseSink sink, int capacity, OverflowPolicy overflow,
+                  Executor writer, ScheduledExecutorService timers, BufferBudget budget,
+                  Consumer<SseSubscriber> onClose, boolean mux) {
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.sink = Objects.requireNonNull(sink, "sink");
+        this.capacity = Math.max(1, capacity);
+        this.overflow = overflow == null ? OverflowPolicy.DROP_OLDEST : overflow;
+        this.writer = writer;
+        this.timers = timers;
+        this.budget = budget;
+        this.onClose = onClose;
+        this.mux = mux;
+        this.muxChannels = mux ? ConcurrentHashMap.newKeySet() : Set.of();
+    }
+
+    String channel() {
+        return channel;
+    }
+
+    boolean isMux() {
+        return mux;
+    }
+
+    /** Channels a multiplexed subscriber is currently attached to; empty for a plain one. */
+    Set<String> muxChannels() {
+        return muxChannels;
+    }
+
+    /** A channel this multiplexed subscriber was attached to has completed. */
+    void channelCompleted(String completed) {
+        muxChannels.remove(completed);
+    }
+
+    /** Set this subscriber's own batching policy (null for none); channel changes no longer apply. */
+    void batching(BatchPolicy policy) {
+        this.explicitBatching = true;
+        this.batching = policy;
+    }
+
+    void filter(EventFilter filter) {
+        this.filter = filter == null ? EventFilter.all() : filter;
+    }
+
+    /** Whether this subscriber wants the event; checked before anything is encoded for it. */
+    boolean accepts(String eventName, String kind) {
+        return filter.accepts(eventName, kind);
+    }
+
+    /** Apply a channel-wide batching policy unless the subscriber chose its own. */
+    void channelBatching(BatchPolicy policy) {
+        if (!explicitBatching) {
+            this.batching = policy;
+        }
+    }
+
+    /** The emitter this subscriber writes to, or null for a reactive subscriber. */
+    SseEmitter emitter() {
+        return sink instanceof EmitterSink e ? e.emitter() : null;
+    }
+
+    /** The consumer signalled demand; resume a drain that stopped for lack of it. */
+    void demandAvailable() {
+        if (!closed.get() && queued() > 0) {
+            scheduleDrain();
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    int queued() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    long queuedBytes() {
+        synchronized (queue) {
+            return queuedBytes;
+        }
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    /** When a frame was last written to this connection (or when it was created). */
+    long lastActivityNanos() {
+        return lastActivityNanos;
+    }
+
+    /** How long the send in progress has been blocked, 0 if none is. */
+    long sendBlockedNanos(long now) {
+        long started = sendStartedNanos;
+        return started == 0 ? 0 : now - started;
+    }
+
+    int heartbeatSlot() {
+        return heartbeatSlot;
+    }
+
+    void heartbeatSlot(int slot) {
+        this.heartbeatSlot = slot;
+    }
+
+    /**
+     * Queue a frame for delivery. Never blocks on the network.
+     *
+     * @return false if the subscriber is closed or was disconnected by the overflow policy
+     */
+    boolean offer(SseFrame frame) {
+        if (closed.get()) {
+            return false;
+        }
+        if (frame.isEvent() && !filter.accepts(frame.eventName(), frame.kind())) {
+            return true;
+        }
+        boolean disconnect = false;
+        synchronized (queue) {
+            // Over the bus-wide byte cap, any backlog counts as full
+            if (queue.size() >= capacity || (!queue.isEmpty() && budget != null && budget.exceeded())) {
+                switch (overflow) {
+                    case DROP_OLDEST -> {
+                        pollQueued();
+                        dropped.incrementAndGet();
+                    }
+                    case COALESCE -> {
+                        if (!removeOldestNamed(frame.eventName())) {
+                            pollQueued();
+                        }
+                        dropped.incrementAndGet();
+                    }
+                    case DISCONNECT -> disconnect = true;
+                }
+            }
+            if (!disconnect) {
+                push(frame);
+            }
+        }
+        if (disconnect) {
+            log.warn("SSE subscriber queue full, disconnecting: channel={} capacity={}", channel, capacity);
+            close(true);
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * Queue replayed frames ahead of live traffic. The ring that supplies them is itself
+     * bounded, so the queue capacity and overflow policy do not apply here.
+     */
+    void preload(List<SseFrame> frames) {
+        if (frames.isEmpty() || closed.get()) {
+            return;
+        }
+        EventFilter f = filter;
+        synchronized (queue) {
+            for (SseFrame frame : frames) {
+                if (!frame.isEvent() || f.accepts(frame.eventName(), frame.kind())) {
+                    push(frame);
+                }
+            }
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Queue a keepalive comment, unless real traffic is already pending.
+     */
+    void offerHeartbeat() {
+        synchronized (queue) {
+            if (!queue.isEmpty()) {
+                return;
+            }
+        }
+        offer(SseFrame.comment("ping " + System.currentTimeMillis()));
+    }
+
+    /**
+     * Stop accepting frames and release the subscriber. When {@code completeEmitter} is set
+     * the sink is completed on a writer thread so the caller never waits on the socket.
+     */
+    void close(boolean completeEmitter) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (queue) {
+            queue.clear();
+            account(-queuedBytes);
+        }
+        if (onClose != null) {
+            onClose.accept(this);
+        }
+        if (completeEmitter) {
+            runOnWriter(() -> {
+                try {
+                    sink.complete();
+                } catch (Exception ignore) {}
+            });
+        }
+    }
+
+    private boolean removeOldestNamed(String eventName) {
+        if (eventName == null) {
+            return false;
+        }
+        for (Iterator<Queued> it = queue.iterator(); it.hasNext(); ) {
+            Queued queued = it.next();
+            if (eventName.equals(queued.frame().eventName())) {
+                it.remove();
+                account(-queued.charged());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // push, pollQueued and account are called with the queue lock held
+
+    private void push(SseFrame frame) {
+        Queued queued = new Queued(frame, frame.weight());
+        queue.addLast(queued);
+        account(queued.charged());
+    }
+
+    private SseFrame pollQueued() {
+        Queued queued = queue.pollFirst();
+        if (queued == null) {
+            return null;
+        }
+        account(-queued.charged());
+        return queued.frame();
+    }
+
+    private void account(long delta) {
+        queuedBytes += delta;
+        if (budget != null) {
+            budget.add(delta);
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            if (!runOnWriter(this::drain)) {
+                draining.set(false);
+            }
+        }
+    }
+
+    private boolean runOnWriter(Runnable task) {
+        try {
+            writer.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.debug("SSE writer rejected task: channel={}", channel);
+            return false;
+        }
+    }
+
+    private void drain() {
+        boolean held = false;
+        try {
+            BatchPolicy policy = batching;
+            if (policy != null) {
+                held = drainBatched(policy);
+            } else {
+                drainSingles();
+            }
+        } catch (Exception ex) {
+            // IOException on a dead socket, IllegalStateException once the sink completed
+            log.debug("SSE send failed: channel={} err={}", channel, ex.toString());
+            close(false);
+        } finally {
+            draining.set(false);
+        }
+        // A producer may have enqueued after our last poll but before draining was cleared;
+        // a held batch is woken by its timer instead, and a sink without demand by its request.
+        if (!held && !closed.get() && queued() > 0 && sink.ready()) {
+            scheduleDrain();
+        }
+    }
+
+    private void drainSingles() throws Exception {
+        for (int i = 0; i < DRAIN_BATCH && !closed.get() && sink.ready(); i++) {
+            SseFrame frame;
+            synchronized (queue) {
+                frame = pollQueued();
+            }
+            if (frame == null || !write(outgoing(frame))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Write queued events as batches. Leaves a partial batch queued while its oldest event
+     * is younger than the window, arming a timer for the remainder.
+     *
+     * @return true if a partial batch is being held
+     */
+    private boolean drainBatched(BatchPolicy policy) throws Exception {
+        for (int i = 0; i < DRAIN_BATCH && !closed.get() && sink.ready(); i++) {
+            List<SseFrame> batch = null;
+            SseFrame single = null;
+            synchronized (queue) {
+                Queued first = queue.peekFirst();
+                if (first == null) {
+                    return false;
+                }
+                SseFrame head = first.frame();
+                if (head.isEvent()) {
+                    long waitNanos = head.createdNanos() + policy.windowNanos() - System.nanoTime();
+                    if (waitNanos > 0 && queue.size() < policy.getMaxEvents()) {
+                        armBatchTimer(waitNanos);
+                        return true;
+                    }
+                    batch = new ArrayList<>(Math.min(queue.size(), policy.getMaxEvents()));
+                    while (batch.size() < policy.getMaxEvents() && queue.peekFirst() != null
+                            && queue.peekFirst().frame().isEvent()) {
+                        // Tagged per element, so a mux batch carries each event's channel
+                        batch.add(outgoing(pollQueued()));
+                    }
+                } else {
+                    single = pollQueued();
+                }
+            }
+            SseFrame frame = single != null ? single
+                : batch.size() == 1 ? batch.get(0) : SseFrame.batch(batch);
+            if (!write(frame)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Send a frame that is ready to go; multiplexed events must already be {@link #outgoing}.
+     *
+     * @return false once the closing marker has been handled
+     */
+    private boolean write(SseFrame frame) throws Exception {
+        if (frame.isClosing()) {
+            sink.complete();
+            close(false);
+            return false;
+        }
+        sendStartedNanos = System.nanoTime();
+        try {
+            sink.send(frame);
+        } finally {
+            sendStartedNanos = 0;
+        }
+        lastActivityNanos = System.nanoTime();
+        return true;
+    }
+
+    private SseFrame outgoing(SseFrame frame) {
+        return mux && frame.isEvent() ? frame.tagged() : frame;
+    }
+
+    private void armBatchTimer(long delayNanos) {
+        if (timers != null && batchTimerArmed.compareAndSet(false, true)) {
+            try {
+                timers.schedule(() -> {
+                    batchTimerArmed.set(false);
+                    scheduleDrain();
+                }, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                batchTimerArmed.set(false);
+            }
+        }
+    }
+}
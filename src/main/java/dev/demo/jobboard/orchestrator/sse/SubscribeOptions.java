@@ -0,0 +1,46 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+/**
+ * Per-subscription settings for {@link SseEventBus#attachEmitter(String,
+ * org.springframework.web.servlet.mvc.method.annotation.SseEmitter, SubscribeOptions)}.
+ */
+public final class SubscribeOptions {
+
+    private String lastEventId;
+    private BatchPolicy batching;
+    private EventFilter filter = EventFilter.all();
+
+    public static SubscribeOptions defaults() {
+        return new SubscribeOptions();
+    }
+
+    /** Resume after this event id (the SSE Last-Event-ID); null replays the whole ring. */
+    public SubscribeOptions lastEventId(String lastEventId) {
+        this.lastEventId = lastEventId;
+        return this;
+    }
+
+    /** Batch events for this subscriber; overrides the channel's policy. */
+    public SubscribeOptions batching(BatchPolicy batching) {
+        this.batching = batching;
+        return this;
+    }
+
+    /** Only deliver events this filter accepts; null means all. */
+    public SubscribeOptions filter(EventFilter filter) {
+        this.filter = filter == null ? EventFilter.all() : filter;
+        return this;
+    }
+
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    public BatchPolicy getBatching() {
+        return batching;
+    }
+
+    public EventFilter getFilter() {
+        return filter;
+    }
+}
@@ -1,10 +1,19 @@
 package dev.demo.jobboard.orchestrator.util;
 
 public final class Channels {
+    private static final String REQUEST_PREFIX = "req:";
+
     private Channels() {}
 
     public static String forRequest(String requestId) {
         // Single place to change if you ever adjust the prefixing
-        return "req:" + requestId;
+        return REQUEST_PREFIX + requestId;
+    }
+
+    /** Inverse of {@link #forRequest}; channels without the prefix are returned unchanged. */
+    public static String requestIdOf(String channel) {
+        return channel != null && channel.startsWith(REQUEST_PREFIX)
+            ? channel.substring(REQUEST_PREFIX.length())
+            : channel;
     }
 }
\ No newline at end of file
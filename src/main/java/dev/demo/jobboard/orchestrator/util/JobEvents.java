@@ -0,0 +1,29 @@
+package dev.demo.jobboard.orchestrator.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import dev.demo.jobboard.orchestrator.dto.JobPosting;
+
+public final class JobEvents {
+
+    private JobEvents() {}
+
+    /**
+     * Payload of a "job" SSE event, in the field order the MCP process emits. {@code fallbackSource}
+     * fills in postings that do not name their source; may be null.
+     */
+    public static Map<String, Object> job(JobPosting job, String fallbackSource) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", "job");
+        event.put("source", job.getSource() != null ? job.getSource() : fallbackSource);
+        event.put("id", job.getId());
+        event.put("title", job.getTitle());
+        event.put("company", job.getCompany());
+        event.put("location", job.getLocation());
+        event.put("url", job.getUrl());
+        event.put("postedAt", job.getPostedAt() == null ? null : job.getPostedAt().toString());
+        event.put("snippet", job.getSnippet());
+        return event;
+    }
+}
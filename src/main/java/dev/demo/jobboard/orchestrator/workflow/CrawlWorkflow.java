@@ -20,6 +20,7 @@ public interface CrawlWorkflow {
     public String query;    // e.g., "platform engineer"
     public int maxItems;    // cap results to keep history small
     public int startPage;   // optional, defaults to 1
+    public int maxPages;    // pages per source; optional, defaults to 1
 
     public CrawlRequest() {}
 
@@ -36,7 +37,8 @@ public interface CrawlWorkflow {
           + "sources=" + sources + ", "
           + "query='" + query + "'" + ", "
           + "maxItems=" + maxItems + ", "
-          + "startPage=" + startPage + 
+          + "startPage=" + startPage + ", "
+          + "maxPages=" + maxPages +
           '}';
     }
 
@@ -46,6 +48,8 @@ public interface CrawlWorkflow {
     public List<PostingSummary> items;
     public int lastPageFetched;
     public boolean truncated; // true if hit maxItems cap before hasMore=false
+    public int itemsEmitted;  // jobs published over SSE, all sources
+    public List<String> failedSources;
 
     public CrawlResult() {}
 
@@ -61,6 +65,8 @@ public interface CrawlWorkflow {
           "items=" + (items == null ? 0 : items.size()) +
           ", lastPageFetched=" + lastPageFetched +
           ", truncated=" + truncated +
+          ", itemsEmitted=" + itemsEmitted +
+          ", failedSources=" + failedSources +
           '}';
     }
   }
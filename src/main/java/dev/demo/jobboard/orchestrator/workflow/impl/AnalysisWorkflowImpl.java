@@ -1,6 +1,7 @@
 package dev.demo.jobboard.orchestrator.workflow.impl;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -8,17 +9,30 @@ import dev.demo.jobboard.orchestrator.activity.CrewActivities;
 import dev.demo.jobboard.orchestrator.activity.NotifyActivities;
 import dev.demo.jobboard.orchestrator.activity.StreamActivities;
 import dev.demo.jobboard.orchestrator.workflow.AnalysisWorkflow;
+import dev.demo.jobboard.orchestrator.workflow.model.AnalysisAggregate;
 import dev.demo.jobboard.orchestrator.workflow.model.AnalysisRequest;
+import dev.demo.jobboard.orchestrator.workflow.model.ProgressMode;
 import io.temporal.activity.ActivityOptions;
+import io.temporal.activity.LocalActivityOptions;
 import io.temporal.common.RetryOptions;
+import io.temporal.workflow.Async;
+import io.temporal.workflow.Promise;
 import io.temporal.workflow.Workflow;
 
 public class AnalysisWorkflowImpl implements AnalysisWorkflow {
 
+  // Used when the request does not say (analysis.* is normally copied in)
+  private static final int DEFAULT_SCORING_CONCURRENCY = 10;
+  private static final int DEFAULT_BATCH_SIZE = 25;
+  private static final int DEFAULT_CHUNK_SIZE = 500;
+  private static final int DEFAULT_TOP_K = 5;
+
   private final CrewActivities crew = Workflow.newActivityStub(
       CrewActivities.class,
       ActivityOptions.newBuilder()
           .setStartToCloseTimeout(Duration.ofMinutes(5))
+          // analyzeBatch heartbeats; a retry resumes from its last heartbeat
+          .setHeartbeatTimeout(Duration.ofSeconds(30))
           .setRetryOptions(RetryOptions.newBuilder()
               .setMaximumAttempts(3)
               .build())
@@ -30,6 +44,13 @@ public class AnalysisWorkflowImpl implements AnalysisWorkflow {
           .setStartToCloseTimeout(Duration.ofSeconds(10))
           .build());
 
+  // ProgressMode.LOCAL_ACTIVITY: per-job emits without a server round trip each
+  private final StreamActivities localStream = Workflow.newLocalActivityStub(
+      StreamActivities.class,
+      LocalActivityOptions.newBuilder()
+          .setStartToCloseTimeout(Duration.ofSeconds(10))
+          .build());
+
   private final NotifyActivities notify = Workflow.newActivityStub(
       NotifyActivities.class,
       ActivityOptions.newBuilder()
@@ -44,87 +65,151 @@ public class AnalysisWorkflowImpl implements AnalysisWorkflow {
     String resumeText = request.getResumeText();
 
     String channel = "req:" + requestId;
-    logger.info("Starting analysis for requestId={} ({} jobIds)", requestId, jobIds.size());
-    Workflow.sleep(Duration.ofSeconds(30));
-    try {
-      // Worker-side start marker (distinct from controller's analysisStart)
-      stream.emitObj(channel, requestId, "analysis", Map.of(
-          "kind", "analysisStartWorker",
-          "stage", "starting",
-          "message", "Worker started analysis workflow",
-          "totalJobs", jobIds.size()
-      ));
+    // Runs recorded before a change to the command sequence replay the sequence they were
+    // recorded with; one version marker per change
+    boolean sequential = Workflow.getVersion("concurrentScoring", Workflow.DEFAULT_VERSION, 1) == Workflow.DEFAULT_VERSION;
+    boolean perJob = Workflow.getVersion("batchScoring", Workflow.DEFAULT_VERSION, 1) == Workflow.DEFAULT_VERSION;
+    // Before progressMode every jobAnalyzed went out through its own emitObj activity
+    boolean activityProgressOnly = Workflow.getVersion("progressMode", Workflow.DEFAULT_VERSION, 1) == Workflow.DEFAULT_VERSION;
+    ProgressMode progressMode = request.getProgressMode() != null && !activityProgressOnly
+        ? request.getProgressMode()
+        : ProgressMode.ACTIVITY;
+    StreamActivities progressStream = progressMode == ProgressMode.LOCAL_ACTIVITY ? localStream : stream;
+    int topK = request.getTopK() > 0 ? request.getTopK() : DEFAULT_TOP_K;
+    // Before chunkedRuns a run scored every job itself and never continued as new
+    boolean singleRun = Workflow.getVersion("chunkedRuns", Workflow.DEFAULT_VERSION, 1) == Workflow.DEFAULT_VERSION;
+    int chunkSize = singleRun ? Integer.MAX_VALUE
+        : request.getChunkSize() > 0 ? request.getChunkSize() : DEFAULT_CHUNK_SIZE;
 
-      // Progress: starting
-      stream.emitObj(channel, requestId, "analysis", Map.of(
-          "kind", "analysisProgress",
-          "stage", "starting",
-          "message", "Beginning job analysis",
-          "totalJobs", jobIds.size()
-      ));
+    // A continuation carries the totals so far and only the jobs still to score; the UI
+    // stream carries on as if it were the same run
+    boolean firstRun = request.getAggregate() == null;
+    AnalysisAggregate aggregate = firstRun ? new AnalysisAggregate() : request.getAggregate();
+    int totalJobs = firstRun ? jobIds.size() : request.getTotalJobs();
+    int offset = totalJobs - jobIds.size();
+    List<String> chunk = jobIds.subList(0, Math.min(chunkSize, jobIds.size()));
+    boolean lastChunk = chunk.size() == jobIds.size();
 
-      // Analyze each job
-      double totalScore = 0.0;
-      int analyzedCount = 0;
-      StringBuilder insights = new StringBuilder();
+    logger.info("Starting analysis for requestId={} (jobs {}-{} of {})",
+        requestId, offset + 1, offset + chunk.size(), totalJobs);
+    if (firstRun) {
+      Workflow.sleep(Duration.ofSeconds(30));
+    }
+    long startedAt = Workflow.currentTimeMillis();
+    try {
+      if (firstRun) {
+        // Worker-side start marker (distinct from controller's analysisStart)
+        stream.emitObj(channel, requestId, "analysis", Map.of(
+            "kind", "analysisStartWorker",
+            "stage", "starting",
+            "message", "Worker started analysis workflow",
+            "totalJobs", totalJobs
+        ));
 
-      for (String jobId : jobIds) {
-        logger.info("Analyzing job: {}", jobId);
+        // Progress: starting
+        stream.emitObj(channel, requestId, "analysis", Map.of(
+            "kind", "analysisProgress",
+            "stage", "starting",
+            "message", "Beginning job analysis",
+            "totalJobs", totalJobs
+        ));
+      }
 
-        // Mock job data - in real implementation, you'd fetch from database
-        String jobTitle = "Software Engineer";
-        String company = "Tech Company";
+      // Jobs are scored in batches of `batchSize` (one analyzeBatch activity each, the resume
+      // sent once per batch) with up to `window` batches running at once. Each batch's results
+      // stream out as it completes and its slot is refilled right away. Progress events are
+      // chained so they stay in order without holding up scoring.
+      // Before concurrentScoring: one analyze at a time, each emit awaited before the next job.
+      // Before batchScoring: one analyze activity per job.
+      int batchSize = perJob ? 1 : request.getBatchSize() > 0 ? request.getBatchSize() : DEFAULT_BATCH_SIZE;
+      int window = sequential ? 1 : request.getScoringConcurrency() > 0
+          ? request.getScoringConcurrency()
+          : DEFAULT_SCORING_CONCURRENCY;
+      List<Promise<CrewActivities.BatchAnalysisResult>> running = new ArrayList<>();
+      List<List<String>> runningIds = new ArrayList<>();
+      Promise<Void> emitted = Workflow.newPromise(null);
+      int next = 0;
 
-        // Analyze the job fit
-        CrewActivities.AnalysisResult result = crew.analyze(resumeText, jobId, jobTitle, company);
+      while (next < chunk.size() || !running.isEmpty()) {
+        while (next < chunk.size() && running.size() < window) {
+          List<String> batch = chunk.subList(next, Math.min(next + batchSize, chunk.size()));
+          next += batch.size();
+          logger.info("Analyzing {} jobs from {}", batch.size(), batch.get(0));
 
-        totalScore += result.getScore();
-        analyzedCount++;
-        insights.append("Job ").append(jobId).append(": ").append(result.getRationale()).append("\n");
+          List<CrewActivities.JobRef> refs = new ArrayList<>(batch.size());
+          for (String jobId : batch) {
+            // Mock job data - in real implementation, you'd fetch from database
+            refs.add(new CrewActivities.JobRef(jobId, "Software Engineer", "Tech Company"));
+          }
 
-        // Send progress update
-        stream.emitObj(channel, requestId, "analysis", Map.of(
-            "kind", "jobAnalyzed",
-            "jobId", jobId,
-            "score", result.getScore(),
-            "rationale", result.getRationale(),
-            "progress", analyzedCount,
-            "total", jobIds.size()
-        ));
-      }
+          if (perJob) {
+            running.add(analyzeOne(resumeText, refs.get(0)));
+          } else if (progressMode == ProgressMode.SIDE_CHANNEL) {
+            running.add(Async.function(crew::analyzeBatchPublishing,
+                channel, requestId, resumeText, refs, offset + next - batch.size() + 1, totalJobs));
+          } else {
+            running.add(Async.function(crew::analyzeBatch, resumeText, refs));
+          }
+          runningIds.add(new ArrayList<>(batch));
+        }
 
-      // Generate final recommendations
-      double avgScore = analyzedCount == 0 ? 0.0 : totalScore / analyzedCount;
+        // Rethrows the first failure, as the sequential loop did
+        Promise.anyOf(running).get();
 
-      stream.emitObj(channel, requestId, "analysis", Map.of(
-          "kind", "generatingResume",
-          "stage", "resume_generation",
-          "message", "Generating tailored resume and cover letter"
-      ));
+        for (int i = 0; i < running.size(); ) {
+          if (!running.get(i).isCompleted()) {
+            i++;
+            continue;
+          }
+          CrewActivities.BatchAnalysisResult result = running.remove(i).get();
+          List<String> batch = runningIds.remove(i);
 
-      String generatedResume = generateResume(resumeText, insights.toString(), avgScore);
-      String generatedCoverLetter = generateCoverLetter(resumeText, insights.toString());
+          for (int j = 0; j < batch.size(); j++) {
+            String jobId = batch.get(j);
+            double score = result.getScores()[j];
+            String rationale = result.getRationales()[j];
 
-      // Final results
-      stream.emitObj(channel, requestId, "analysis", Map.of(
-          "kind", "analysisComplete",
-          "stage", "complete",
-          "results", Map.of(
-              "resume", generatedResume,
-              "coverLetter", generatedCoverLetter,
-              "atsScore", (int) (avgScore * 100),
-              "insights", List.of(
-                  "Average match score: " + String.format("%.1f", avgScore * 100) + "%",
-                  "Analyzed " + analyzedCount + " job opportunities",
-                  "Best matches found in " + jobIds.size() + " positions"
-              )
-          )
-      ));
+            aggregate.add(jobId, score, rationale, topK);
+            if (progressMode == ProgressMode.SIDE_CHANNEL) {
+              continue; // analyzeBatchPublishing already published it
+            }
 
-      // Notify API to close the SSE stream for this analysis request
-      notify.sourceComplete(requestId, "analysis");
-      logger.info("Analysis completed for requestId={}", requestId);
+            // Send progress update
+            Map<String, Object> progress = Map.of(
+                "kind", "jobAnalyzed",
+                "jobId", jobId,
+                "score", score,
+                "rationale", rationale,
+                "progress", aggregate.getCount(),
+                "total", totalJobs
+            );
+            emitted = emitted.thenCompose(v ->
+                Async.procedure(progressStream::emitObj, channel, requestId, "analysis", progress));
+          }
+          if (progressMode == ProgressMode.SIDE_CHANNEL) {
+            // One history-recorded update per batch instead of one per job
+            Map<String, Object> progress = Map.of(
+                "kind", "analysisProgress",
+                "stage", "scoring",
+                "progress", aggregate.getCount(),
+                "total", totalJobs
+            );
+            emitted = emitted.thenCompose(v ->
+                Async.procedure(stream::emitObj, channel, requestId, "analysis", progress));
+          }
+        }
+        if (sequential) {
+          emitted.get();
+        }
+      }
+      emitted.get();
 
+      if (lastChunk) {
+        finish(request, channel, aggregate, totalJobs);
+        logger.info("Analysis completed for requestId={} progressMode={} jobs={} historyEvents={} historyBytes={} elapsedMs={}",
+            requestId, progressMode, aggregate.getCount(), Workflow.getInfo().getHistoryLength(),
+            Workflow.getInfo().getHistorySize(), Workflow.currentTimeMillis() - startedAt);
+      }
     } catch (Exception e) {
       logger.error("Analysis failed for requestId={}: {}", requestId, e.getMessage(), e);
 
@@ -139,6 +224,77 @@ public class AnalysisWorkflowImpl implements AnalysisWorkflow {
       // notify.sourceComplete(requestId, "analysis");
       throw e;
     }
+
+    if (!lastChunk) {
+      logger.info("Analysis chunk done for requestId={}: {} of {} jobs, historyEvents={} elapsedMs={}; continuing as new",
+          requestId, aggregate.getCount(), totalJobs, Workflow.getInfo().getHistoryLength(),
+          Workflow.currentTimeMillis() - startedAt);
+      AnalysisRequest next = continuation(request, jobIds.subList(chunk.size(), jobIds.size()), aggregate, totalJobs);
+      Workflow.continueAsNew(next);
+    }
+  }
+
+  /** One job through the single-job analyze activity, as a batch of one. */
+  private Promise<CrewActivities.BatchAnalysisResult> analyzeOne(String resumeText, CrewActivities.JobRef job) {
+    return Async.function(crew::analyze, resumeText, job.getJobId(), job.getTitle(), job.getCompany())
+        .thenApply(r -> new CrewActivities.BatchAnalysisResult(new double[] {r.getScore()}, new String[] {r.getRationale()}));
+  }
+
+  /** Resume generation and the final events, once every job has been scored. */
+  private void finish(AnalysisRequest request, String channel, AnalysisAggregate aggregate, int totalJobs) {
+    String requestId = request.getRequestId();
+    String resumeText = request.getResumeText();
+
+    // Only the best matches are kept across runs, so they are what the insights are built from
+    StringBuilder insights = new StringBuilder();
+    for (AnalysisAggregate.TopMatch match : aggregate.getTopMatches()) {
+      insights.append("Job ").append(match.getJobId()).append(": ").append(match.getRationale()).append("\n");
+    }
+
+    // Generate final recommendations
+    double avgScore = aggregate.average();
+
+    stream.emitObj(channel, requestId, "analysis", Map.of(
+        "kind", "generatingResume",
+        "stage", "resume_generation",
+        "message", "Generating tailored resume and cover letter"
+    ));
+
+    String generatedResume = generateResume(resumeText, insights.toString(), avgScore);
+    String generatedCoverLetter = generateCoverLetter(resumeText, insights.toString());
+
+    // Final results
+    stream.emitObj(channel, requestId, "analysis", Map.of(
+        "kind", "analysisComplete",
+        "stage", "complete",
+        "results", Map.of(
+            "resume", generatedResume,
+            "coverLetter", generatedCoverLetter,
+            "atsScore", (int) (avgScore * 100),
+            "insights", List.of(
+                "Average match score: " + String.format("%.1f", avgScore * 100) + "%",
+                "Analyzed " + aggregate.getCount() + " job opportunities",
+                "Best matches found in " + totalJobs + " positions"
+            )
+        )
+    ));
+
+    // Notify API to close the SSE stream for this analysis request
+    notify.sourceComplete(requestId, "analysis");
+  }
+
+  /** The next run's input: the same settings, the jobs still to score and the totals so far. */
+  private static AnalysisRequest continuation(AnalysisRequest request, List<String> remaining,
+      AnalysisAggregate aggregate, int totalJobs) {
+    AnalysisRequest next = new AnalysisRequest(request.getRequestId(), request.getResumeText(), new ArrayList<>(remaining));
+    next.setScoringConcurrency(request.getScoringConcurrency());
+    next.setBatchSize(request.getBatchSize());
+    next.setProgressMode(request.getProgressMode());
+    next.setChunkSize(request.getChunkSize());
+    next.setTopK(request.getTopK());
+    next.setTotalJobs(totalJobs);
+    next.setAggregate(aggregate);
+    return next;
   }
 
   private String generateResume(String originalResume, String insights, double avgScore) {
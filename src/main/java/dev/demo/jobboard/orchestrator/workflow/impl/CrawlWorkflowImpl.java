@@ -1,12 +1,19 @@
 package dev.demo.jobboard.orchestrator.workflow.impl;
 
 import java.time.Duration;
-import java.util.List;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import dev.demo.jobboard.orchestrator.activity.McpActivities;
-import dev.demo.jobboard.orchestrator.activity.McpActivities.PostingSummary;
+import dev.demo.jobboard.orchestrator.activity.McpActivities.SearchCursor;
 import dev.demo.jobboard.orchestrator.workflow.CrawlWorkflow;
 import io.temporal.activity.ActivityOptions;
+import io.temporal.common.RetryOptions;
+import io.temporal.failure.ActivityFailure;
+import io.temporal.failure.CanceledFailure;
+import io.temporal.workflow.Async;
+import io.temporal.workflow.Promise;
 import io.temporal.workflow.Workflow;
 
 import org.slf4j.Logger;
@@ -19,7 +26,28 @@ public class CrawlWorkflowImpl implements CrawlWorkflow {
   private final McpActivities mcp = Workflow.newActivityStub(
       McpActivities.class,
       ActivityOptions.newBuilder()
-          .setStartToCloseTimeout(Duration.ofMinutes(15)) // Longer timeout for streaming
+          .setStartToCloseTimeout(Duration.ofSeconds(30))
+          .build()
+  );
+
+  // Runs started before crawlSource: executeSearch streamed for up to 15 minutes per source
+  private final McpActivities search = Workflow.newActivityStub(
+      McpActivities.class,
+      ActivityOptions.newBuilder()
+          .setStartToCloseTimeout(Duration.ofMinutes(15))
+          .build()
+  );
+
+  // crawlSource runs for the whole crawl of a source and heartbeats after every page (each
+  // bounded by mcp.timeout-seconds); a retry resumes from its last heartbeat
+  private final McpActivities crawl = Workflow.newActivityStub(
+      McpActivities.class,
+      ActivityOptions.newBuilder()
+          .setStartToCloseTimeout(Duration.ofMinutes(30))
+          .setHeartbeatTimeout(Duration.ofMinutes(1))
+          .setRetryOptions(RetryOptions.newBuilder()
+              .setMaximumAttempts(5)
+              .build())
           .build()
   );
 
@@ -32,16 +60,71 @@ public class CrawlWorkflowImpl implements CrawlWorkflow {
 
     // Use workflowId as requestId so activities can route events properly
     String requestId = Workflow.getInfo().getWorkflowId();
-    
-    // Execute searches for each source using the new streaming approach
+
+    // Runs started before the parallel crawl keep replaying their sequential searches
+    int version = Workflow.getVersion("parallelCrawl", Workflow.DEFAULT_VERSION, 1);
+    if (version == Workflow.DEFAULT_VERSION) {
+      return sequentialSearches(requestId, request);
+    }
+
+    int startPage = Math.max(1, request.startPage);
+    int maxPages = Math.max(1, request.maxPages);
+
+    // All sources crawl at once; each is reported as soon as it finishes
+    Map<Promise<SearchCursor>, String> running = new LinkedHashMap<>();
     for (String source : request.sources) {
-      mcp.executeSearch(requestId, source, request.query, request.maxItems, 25);
+      running.put(Async.function(crawl::crawlSource, requestId, source, request.query, startPage, maxPages, request.maxItems), source);
+    }
+    CrawlResult result = new CrawlResult(null, 0, false);
+    result.failedSources = new ArrayList<>();
+    try {
+      while (!running.isEmpty()) {
+        // Wait on the next one to finish, failed or not
+        Promise.anyOf(running.keySet()).handle((v, e) -> null).get();
+        for (var it = running.entrySet().iterator(); it.hasNext(); ) {
+          var entry = it.next();
+          if (!entry.getKey().isCompleted()) {
+            continue;
+          }
+          it.remove();
+          String source = entry.getValue();
+          RuntimeException failure = entry.getKey().getFailure();
+          if (failure instanceof ActivityFailure af && af.getCause() instanceof CanceledFailure canceled) {
+            // The workflow is being cancelled
+            throw canceled;
+          } else if (failure != null) {
+            // Retries used up; the other sources still count
+            logger.warn("Crawl of {} failed for request {}: {}", source, requestId, failure.getMessage());
+            result.failedSources.add(source);
+          } else {
+            SearchCursor cursor = entry.getKey().get();
+            result.itemsEmitted += cursor.itemsEmitted;
+            result.lastPageFetched = Math.max(result.lastPageFetched, cursor.nextPage - 1);
+            result.truncated |= !cursor.exhausted;
+          }
+          notify.sourceComplete(requestId, source);
+        }
+      }
+    } catch (CanceledFailure e) {
+      // Stop the searches' in-flight pages on the worker before the cancel completes
+      Workflow.newDetachedCancellationScope(() -> mcp.cancelSearch(requestId)).run();
+      throw e;
     }
+    // Lets the API complete the SSE channel so subscribers close and it can be evicted
+    notify.sourceComplete(requestId, "all");
 
-    // For streaming operations, we return immediately
-    // The actual results are delivered via SSE as they arrive
+    // Postings themselves are delivered via SSE as each page arrives
+    logger.info("CrawlWorkflow completed for request {}: {}", requestId, result);
+    return result;
+  }
+
+  // The command sequence of the original workflow, unchanged so that its histories replay
+  private CrawlResult sequentialSearches(String requestId, CrawlRequest request) {
+    for (String source : request.sources) {
+      search.executeSearch(requestId, source, request.query, request.maxItems, 25);
+    }
     logger.info("CrawlWorkflow completed for request: {}", requestId);
-    return new CrawlResult(null, 1, false); // Placeholder - actual results are streamed
+    return new CrawlResult(null, 1, false);
   }
 
   private final dev.demo.jobboard.orchestrator.activity.NotifyActivities notify =
@@ -0,0 +1,72 @@
+package dev.demo.jobboard.orchestrator.workflow.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Running totals of an analysis, carried from one workflow run to the next across
+ * continue-as-new: how many jobs were scored, the sum of their scores, and the best
+ * {@code topK} matches with their rationales. Everything else about scored jobs is dropped.
+ */
+public class AnalysisAggregate implements Serializable {
+  private int count;
+  private double scoreSum;
+  private List<TopMatch> topMatches = new ArrayList<>();
+
+  public AnalysisAggregate() {}
+
+  /** Count a scored job, keeping it among the top matches if it is one of the best {@code topK}. */
+  public void add(String jobId, double score, String rationale, int topK) {
+    count++;
+    scoreSum += score;
+    if (topK <= 0) {
+      return;
+    }
+    if (topMatches.size() < topK || score > topMatches.get(topMatches.size() - 1).getScore()) {
+      topMatches.add(new TopMatch(jobId, score, rationale));
+      // Stable, so equal scores keep arrival order and replays agree
+      topMatches.sort(Comparator.comparingDouble(TopMatch::getScore).reversed());
+      if (topMatches.size() > topK) {
+        topMatches.remove(topMatches.size() - 1);
+      }
+    }
+  }
+
+  public double average() {
+    return count == 0 ? 0.0 : scoreSum / count;
+  }
+
+  public int getCount() { return count; }
+  public void setCount(int count) { this.count = count; }
+
+  public double getScoreSum() { return scoreSum; }
+  public void setScoreSum(double scoreSum) { this.scoreSum = scoreSum; }
+
+  public List<TopMatch> getTopMatches() { return topMatches; }
+  public void setTopMatches(List<TopMatch> topMatches) { this.topMatches = topMatches; }
+
+  public static class TopMatch implements Serializable {
+    private String jobId;
+    private double score;
+    private String rationale;
+
+    public TopMatch() {}
+
+    public TopMatch(String jobId, double score, String rationale) {
+      this.jobId = jobId;
+      this.score = score;
+      this.rationale = rationale;
+    }
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public String getRationale() { return rationale; }
+    public void setRationale(String rationale) { this.rationale = rationale; }
+  }
+}
@@ -7,6 +7,19 @@ public class AnalysisRequest implements Serializable {
   private String requestId;
   private String resumeText;
   private List<String> jobIds;
+  // Scoring batches in flight at once; 0 means the workflow's default
+  private int scoringConcurrency;
+  // Jobs per analyzeBatch activity; 0 means the workflow's default
+  private int batchSize;
+  // How per-job progress reaches the UI; null means ACTIVITY
+  private ProgressMode progressMode;
+  // Jobs scored per workflow run before continuing as new; 0 means the workflow's default
+  private int chunkSize;
+  // Best matches kept for the final insights; 0 means the workflow's default
+  private int topK;
+  // Set on continuations only: the original job count and the totals so far
+  private int totalJobs;
+  private AnalysisAggregate aggregate;
 
   public AnalysisRequest() {}
 
@@ -24,4 +37,25 @@ public class AnalysisRequest implements Serializable {
 
   public List<String> getJobIds() { return jobIds; }
   public void setJobIds(List<String> jobIds) { this.jobIds = jobIds; }
+
+  public int getScoringConcurrency() { return scoringConcurrency; }
+  public void setScoringConcurrency(int scoringConcurrency) { this.scoringConcurrency = scoringConcurrency; }
+
+  public int getBatchSize() { return batchSize; }
+  public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+  public ProgressMode getProgressMode() { return progressMode; }
+  public void setProgressMode(ProgressMode progressMode) { this.progressMode = progressMode; }
+
+  public int getChunkSize() { return chunkSize; }
+  public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+  public int getTopK() { return topK; }
+  public void setTopK(int topK) { this.topK = topK; }
+
+  public int getTotalJobs() { return totalJobs; }
+  public void setTotalJobs(int totalJobs) { this.totalJobs = totalJobs; }
+
+  public AnalysisAggregate getAggregate() { return aggregate; }
+  public void setAggregate(AnalysisAggregate aggregate) { this.aggregate = aggregate; }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package dev.demo.jobboard.orchestrator.workflow.model;
+
+/**
+ * How an analysis publishes per-job progress ("jobAnalyzed") to its SSE channel. Milestones
+ * (start, resume generation, completion, errors) always go through regular activities.
+ */
+public enum ProgressMode {
+  /** One StreamActivities.emitObj activity per job: three history events and a server round trip each. */
+  ACTIVITY,
+  /** The same emit as a local activity: one marker event per job, no server round trip. */
+  LOCAL_ACTIVITY,
+  /**
+   * The scoring activity publishes each job itself; the workflow records one "analysisProgress"
+   * per batch. A retried batch may publish a job twice.
+   */
+  SIDE_CHANNEL
+}
@@ -0,0 +1,191 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import dev.demo.jobboard.orchestrator.config.McpConfig;
+import dev.demo.jobboard.orchestrator.dto.JobDetails;
+
+/**
+ * {@link CachingMcpClient} over a stub that counts how often each URL reaches the wrapped
+ * client.
+ */
+class CachingMcpClientTest {
+
+    private final StubClient stub = new StubClient();
+
+    @Test
+    void normalizesTrackingParametersOrderAndDefaultPort() {
+        assertEquals("https://example.com/jobs/1?a=1&b=2",
+            CachingMcpClient.normalize("HTTPS://Example.COM:443/jobs/1/?b=2&utm_source=x&a=1&UTM_Campaign=y#apply"));
+        assertEquals("http://example.com:8080/jobs", CachingMcpClient.normalize("http://example.com:8080/jobs"));
+
+        CachingMcpClient client = client(100, 3600, 3600);
+        client.fetchByUrl("https://example.com/jobs/1?b=2&a=1");
+        client.fetchByUrl("https://example.com:443/jobs/1?a=1&b=2&utm_medium=email");
+        assertEquals(1, stub.calls("https://example.com/jobs/1?b=2&a=1"));
+        assertEquals(0, stub.calls("https://example.com:443/jobs/1?a=1&b=2&utm_medium=email"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        CachingMcpClient client = client(2, 3600, 3600);
+        client.fetchByUrl("https://example.com/a");
+        client.fetchByUrl("https://example.com/b");
+        client.fetchByUrl("https://example.com/a");
+        client.fetchByUrl("https://example.com/c");
+
+        client.fetchByUrl("https://example.com/a");
+        client.fetchByUrl("https://example.com/b");
+        assertEquals(1, stub.calls("https://example.com/a"));
+        assertEquals(2, stub.calls("https://example.com/b"));
+    }
+
+    @Test
+    void neverEvictsAFetchInFlight() throws Exception {
+        CachingMcpClient client = client(1, 3600, 3600);
+        stub.held = "https://example.com/slow";
+        Thread slow = new Thread(() -> client.fetchByUrl("https://example.com/slow"));
+        slow.start();
+        assertTrue(stub.entered.await(5, TimeUnit.SECONDS));
+
+        client.fetchByUrl("https://example.com/fast");
+        // Over the limit: evicts fast, the oldest entry that is done, and keeps slow
+        client.fetchByUrl("https://example.com/other");
+        assertEquals(2, client.size());
+
+        Thread waiter = new Thread(() -> client.fetchByUrl("https://example.com/slow"));
+        waiter.start();
+        stub.release.countDown();
+        slow.join(5_000);
+        waiter.join(5_000);
+        assertEquals(1, stub.calls("https://example.com/slow"));
+        client.fetchByUrl("https://example.com/fast");
+        assertEquals(2, stub.calls("https://example.com/fast"));
+    }
+
+    @Test
+    void keepsFailuresForTheErrorTtlOnly() {
+        CachingMcpClient client = client(100, 3600, 0);
+        assertThrows(IllegalStateException.class, () -> client.fetchByUrl("https://example.com/broken"));
+        assertThrows(IllegalStateException.class, () -> client.fetchByUrl("https://example.com/broken"));
+        assertEquals(2, stub.calls("https://example.com/broken"));
+
+        client.fetchByUrl("https://example.com/ok");
+        client.fetchByUrl("https://example.com/ok");
+        assertEquals(1, stub.calls("https://example.com/ok"));
+
+        CachingMcpClient remembering = client(100, 3600, 3600);
+        assertThrows(IllegalStateException.class, () -> remembering.fetchByUrl("https://example.org/broken"));
+        assertThrows(IllegalStateException.class, () -> remembering.fetchByUrl("https://example.org/broken"));
+        assertEquals(1, stub.calls("https://example.org/broken"));
+    }
+
+    @Test
+    void sharesEntriesBetweenSingleAndBatchFetches() {
+        CachingMcpClient client = client(100, 3600, 3600);
+        client.fetchByUrl("https://example.com/a");
+
+        Map<String, String> titles = new ConcurrentHashMap<>();
+        client.fetchByUrls(List.of("https://example.com/a?utm_source=feed", "https://example.com/b"), 2,
+            new McpClient.UrlParseListener() {
+                @Override
+                public void onParsed(String url, JobDetails details) {
+                    titles.put(url, details.getTitle());
+                }
+
+                @Override
+                public void onError(String url, String message) {
+                    titles.put(url, "error: " + message);
+                }
+            });
+
+        // Only the uncached URL goes to the wrapped client's batch
+        assertEquals(List.of(List.of("https://example.com/b")), stub.batches);
+        assertEquals("https://example.com/a", titles.get("https://example.com/a?utm_source=feed"));
+        assertEquals("https://example.com/b", titles.get("https://example.com/b"));
+
+        client.fetchByUrl("https://example.com/b/");
+        assertEquals(1, stub.calls("https://example.com/a"));
+        assertEquals(1, stub.calls("https://example.com/b"));
+    }
+
+    private CachingMcpClient client(int maxEntries, int ttlSeconds, int errorTtlSeconds) {
+        McpConfig cfg = new McpConfig();
+        cfg.setUrlCacheMaxEntries(maxEntries);
+        cfg.setUrlCacheTtlSeconds(ttlSeconds);
+        cfg.setUrlCacheErrorTtlSeconds(errorTtlSeconds);
+        return new CachingMcpClient(stub, cfg, null);
+    }
+
+    /** Answers every URL with its own URL as the title; URLs containing "broken" fail. */
+    private final class StubClient implements McpClient {
+        private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        private final List<List<String>> batches = new ArrayList<>();
+        // Fetches of this URL wait for release
+        private volatile String held;
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        int calls(String url) {
+            AtomicInteger n = calls.get(url);
+            return n == null ? 0 : n.get();
+        }
+
+        @Override
+        public JobDetails fetchByUrl(String url) {
+            calls.computeIfAbsent(url, k -> new AtomicInteger()).incrementAndGet();
+            if (url.equals(held)) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (url.contains("broken")) {
+                throw new IllegalStateException("parse failed for " + url);
+            }
+            return new JobDetails(url, url, "Acme", null, null, "example.com", null, null);
+        }
+
+        @Override
+        public void fetchByUrls(List<String> urls, int concurrency, UrlParseListener listener) {
+            batches.add(urls);
+            for (String url : urls) {
+                try {
+                    listener.onParsed(url, fetchByUrl(url));
+                } catch (IllegalStateException e) {
+                    listener.onError(url, e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public McpPage fetchPage(String requestId, String source, String query, int page, int pageSize, String cursor,
+                boolean prefetchNext) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void executeSearch(String requestId, String source, String query, int maxPages, int perSourceLimit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean cancel(String requestId) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.Test;
+
+import dev.demo.jobboard.orchestrator.config.McpConfig;
+
+class McpAdmissionControllerTest {
+
+    @Test
+    void queuesPastTheGlobalAndPerSourceCaps() {
+        McpConfig cfg = new McpConfig();
+        cfg.setMaxConcurrent(3);
+        cfg.setSourceLimits(Map.of("yc", 1));
+        cfg.setDefaultSourceLimit(2);
+        McpAdmissionController admission = new McpAdmissionController(cfg, null);
+
+        McpAdmissionController.Ticket yc = admission.acquire("r1", "yc");
+        // Per-source cap: yc allows one
+        McpAdmissionController.Ticket yc2 = admission.acquire("r2", "YC ");
+        assertEquals(0, yc.position());
+        assertEquals(1, yc2.position());
+        assertFalse(yc2.admitted().isDone());
+
+        // Default cap applies to sources without their own limit
+        admission.acquire("r3", "hn");
+        admission.acquire("r4", "hn");
+        assertEquals(3, admission.running());
+        // Global cap: lever is under its own limit but every slot is taken
+        McpAdmissionController.Ticket lever = admission.acquire("r5", "lever");
+        assertEquals(2, lever.position());
+        assertEquals(2, admission.queued());
+    }
+
+    @Test
+    void startsTheOldestTicketWhoseSourceHasRoom() {
+        McpConfig cfg = new McpConfig();
+        cfg.setMaxConcurrent(2);
+        cfg.setSourceLimits(Map.of("yc", 1));
+        McpAdmissionController admission = new McpAdmissionController(cfg, null);
+        McpAdmissionController.Ticket yc = admission.acquire("r1", "yc");
+        McpAdmissionController.Ticket hn = admission.acquire("r2", "hn");
+        McpAdmissionController.Ticket ycQueued = admission.acquire("r3", "yc");
+        McpAdmissionController.Ticket lever = admission.acquire("r4", "lever");
+        McpAdmissionController.Ticket ashby = admission.acquire("r5", "ashby");
+
+        // yc is still at its cap, so the freed slot skips r3 and goes to the next in line
+        hn.release();
+        assertFalse(ycQueued.admitted().isDone());
+        assertTrue(lever.admitted().isDone());
+        assertFalse(ashby.admitted().isDone());
+
+        // Once yc has room, the oldest waiting ticket goes first
+        yc.release();
+        assertTrue(ycQueued.admitted().isDone());
+        assertFalse(ashby.admitted().isDone());
+        assertEquals(1, admission.queued());
+    }
+
+    @Test
+    void rejectsSearchesOnceTheQueueIsFull() {
+        McpConfig cfg = new McpConfig();
+        cfg.setMaxConcurrent(1);
+        cfg.setMaxQueueDepth(1);
+        McpAdmissionController admission = new McpAdmissionController(cfg, null);
+        admission.acquire("r1", "yc");
+        admission.acquire("r2", "hn");
+
+        assertThrows(McpQueueFullException.class, () -> admission.acquire("r3", "lever"));
+        assertEquals(1, admission.queued());
+        assertEquals(1, admission.running());
+    }
+
+    @Test
+    void releasingAQueuedTicketFailsItsAdmission() {
+        McpConfig cfg = new McpConfig();
+        cfg.setMaxConcurrent(1);
+        McpAdmissionController admission = new McpAdmissionController(cfg, null);
+        McpAdmissionController.Ticket running = admission.acquire("r1", "yc");
+        McpAdmissionController.Ticket queued = admission.acquire("r2", "yc");
+        assertEquals(1, queued.position());
+
+        queued.release();
+
+        assertTrue(queued.admitted().isCompletedExceptionally());
+        assertThrows(CancellationException.class, () -> queued.admitted().join());
+        assertEquals(0, admission.queued());
+        assertEquals(1, admission.running());
+        running.release();
+        assertEquals(0, admission.running());
+    }
+}
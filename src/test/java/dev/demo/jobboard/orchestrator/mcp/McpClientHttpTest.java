@@ -0,0 +1,152 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import dev.demo.jobboard.orchestrator.config.McpConfig;
+import dev.demo.jobboard.orchestrator.dto.JobDetails;
+import dev.demo.jobboard.orchestrator.sse.SseEventBus;
+
+/**
+ * {@link McpClientHttp} against an in-process fixture server standing in for the Hacker News
+ * search API (two pages of one posting each) and a job page with OpenGraph tags.
+ */
+class McpClientHttpTest {
+
+    private static final Pattern PAGE = Pattern.compile("[?&]page=(\\d+)");
+
+    private final SseEventBus bus = mock(SseEventBus.class);
+    private final ExecutorService serverThreads = Executors.newCachedThreadPool();
+    // Page requests wait on this gate once closed
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private final CountDownLatch pageRequested = new CountDownLatch(1);
+    private HttpServer server;
+    private McpClientHttp client;
+    private String baseUrl;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverThreads);
+        server.createContext("/api/v1/search_by_date", this::searchPage);
+        server.createContext("/jobs/1", exchange -> respond(exchange, "text/html", """
+            <html><head>
+              <title>Fallback title</title>
+              <meta property="og:title" content="Platform Engineer">
+              <meta property="og:site_name" content="Acme &amp; Co">
+              <meta name="description" content="Build the platform.">
+            </head><body></body></html>
+            """));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        McpConfig cfg = new McpConfig();
+        cfg.setHttpBaseUrls(Map.of("hn", baseUrl));
+        cfg.setHttpConcurrency(1);
+        client = new McpClientHttp(cfg, bus);
+    }
+
+    @AfterEach
+    void stop() {
+        gate.countDown();
+        client.shutdown();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void pagesByNumberAndResumesFromTheCursor() {
+        McpClient.McpPage first = client.fetchPage("r1", "hn", "rust", 1, 10);
+        assertEquals(1, first.items.size());
+        assertEquals("hn-1", first.items.get(0).getId());
+        assertEquals("Acme", first.items.get(0).getCompany());
+        assertTrue(first.hasMore);
+        assertEquals("2", first.nextCursor);
+
+        // The cursor wins over the page number
+        McpClient.McpPage second = client.fetchPage("r1", "hn", "rust", 1, 10, first.nextCursor);
+        assertEquals("hn-2", second.items.get(0).getId());
+        assertFalse(second.hasMore);
+        assertNull(second.nextCursor);
+    }
+
+    @Test
+    void cancelDropsThePageInFlight() throws Exception {
+        gate = new CountDownLatch(1);
+        Thread search = new Thread(() -> client.executeSearch("r2", "hn", "rust", 10, 100));
+        search.start();
+        assertTrue(pageRequested.await(5, TimeUnit.SECONDS));
+
+        assertTrue(client.cancel("r2"));
+        gate.countDown();
+        search.join(5_000);
+
+        assertFalse(search.isAlive());
+        verify(bus).publish(eq("req:r2"), eq("cancelled"), any());
+        verify(bus, never()).publish(eq("req:r2"), eq("job"), any());
+        verify(bus, never()).publish(eq("req:r2"), eq("complete"), any());
+    }
+
+    @Test
+    void readsOpenGraphTags() {
+        JobDetails details = client.fetchByUrl(baseUrl + "/jobs/1");
+        assertEquals("Platform Engineer", details.getTitle());
+        assertEquals("Acme & Co", details.getCompany());
+        assertEquals("Build the platform.", details.getDescription());
+        assertEquals("127.0.0.1", details.getSource());
+    }
+
+    private void searchPage(HttpExchange exchange) throws IOException {
+        pageRequested.countDown();
+        try {
+            gate.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Matcher m = PAGE.matcher(exchange.getRequestURI().getRawQuery());
+        int page = m.find() ? Integer.parseInt(m.group(1)) : 0;
+        respond(exchange, "application/json", """
+            {"page": %d, "nbPages": 2, "hits": [{
+              "objectID": "%d",
+              "title": "Acme (YC S21) Is Hiring a Rust Engineer",
+              "url": "https://example.com/jobs/%d",
+              "created_at": "2024-05-01T12:00:00Z"
+            }]}
+            """.formatted(page, page + 1, page + 1));
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
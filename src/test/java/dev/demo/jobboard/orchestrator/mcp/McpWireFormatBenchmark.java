@@ -0,0 +1,138 @@
+package dev.demo.jobboard.orchestrator.mcp;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Compares MCP search output as NDJSON lines against length-prefixed CBOR frames: postings are
+ * written to a file, streamed back through {@code cat} and the {@link ProcessPipeReactor}, and
+ * decoded on the pump thread exactly as McpClientProcess does. Reports throughput in wire bytes
+ * per second and pump-thread CPU per posting, for short to very large descriptions.
+ *
+ * Not a unit test. Run after {@code mvn test-compile} (needs {@code cat} on the PATH):
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *   dev.demo.jobboard.orchestrator.mcp.McpWireFormatBenchmark
+ * </pre>
+ */
+public class McpWireFormatBenchmark {
+
+    private static final int[] DESCRIPTION_CHARS = {280, 4_000, 40_000};
+    private static final long TARGET_BYTES = 128L * 1024 * 1024;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        ProcessPipeReactor pipes = new ProcessPipeReactor(1);
+        Thread pump = Thread.getAllStackTraces().keySet().stream()
+            .filter(t -> t.getName().equals("mcp-pipes-0"))
+            .findFirst()
+            .orElseThrow();
+
+        System.out.printf("%-10s %8s %8s %12s %12s %14s%n",
+            "desc", "format", "jobs", "B/job", "MB/s", "cpu ns/job");
+        try {
+            for (int chars : DESCRIPTION_CHARS) {
+                Map<String, Object> job = posting(chars);
+                int jobs = (int) Math.max(200, TARGET_BYTES / json.writeValueAsBytes(job).length);
+                for (McpWireFormat format : McpWireFormat.values()) {
+                    Path file = Files.createTempFile("mcp-wire-", "." + format.id());
+                    try {
+                        Files.write(file, encode(format, format == McpWireFormat.CBOR ? cbor : json, job, jobs));
+                        McpFrameDecoder decoder = format.decoder(json.getFactory());
+                        long[] cost = null;
+                        for (int r = 0; r < ROUNDS; r++) {
+                            // The first round warms up; the best of the rest is reported
+                            long[] c = stream(pipes, threads, pump, file, format, decoder, jobs);
+                            if (r > 0 && (cost == null || c[1] < cost[1])) {
+                                cost = c;
+                            }
+                        }
+                        long bytes = Files.size(file);
+                        System.out.printf("%-10d %8s %8d %12d %12.1f %14d%n",
+                            chars, format.id(), jobs, bytes / jobs,
+                            bytes / 1e6 / (cost[1] / 1e9), cost[0] / jobs);
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        } finally {
+            pipes.shutdown();
+        }
+    }
+
+    /** @return {pump cpu ns, wall ns} to read and decode the whole file */
+    private static long[] stream(ProcessPipeReactor pipes, com.sun.management.ThreadMXBean threads, Thread pump,
+            Path file, McpWireFormat format, McpFrameDecoder decoder, int jobs) throws Exception {
+        AtomicLong decoded = new AtomicLong();
+        long cpu0 = threads.getThreadCpuTime(pump.getId());
+        long wall0 = System.nanoTime();
+        Process cat = new ProcessBuilder("cat", file.toString()).start();
+        ProcessPipeReactor.Pipe pipe = pipes.register("bench", cat, cat.getInputStream(), format.framing(),
+            (buf, off, len) -> {
+                try {
+                    NdjsonDecoder.Line line = decoder.decode(buf, off, len);
+                    if (line != null && "job".equals(line.type()) && line.json().length > 0) {
+                        decoded.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        pipe.closed().join();
+        long wall = System.nanoTime() - wall0;
+        long cpu = threads.getThreadCpuTime(pump.getId()) - cpu0;
+        if (decoded.get() != jobs) {
+            throw new IllegalStateException(format.id() + ": decoded " + decoded.get() + " of " + jobs + " jobs");
+        }
+        return new long[] {cpu, wall};
+    }
+
+    private static byte[] encode(McpWireFormat format, ObjectMapper mapper, Map<String, Object> job, int jobs) throws Exception {
+        byte[] body = mapper.writeValueAsBytes(job);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(jobs * (body.length + 4));
+        for (int i = 0; i < jobs; i++) {
+            if (format == McpWireFormat.NDJSON) {
+                out.write(body);
+                out.write('\n');
+            } else {
+                out.write(body.length >>> 24);
+                out.write(body.length >>> 16);
+                out.write(body.length >>> 8);
+                out.write(body.length);
+                out.write(body);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static Map<String, Object> posting(int descriptionChars) {
+        // Quotes, newlines and non-ASCII as scraped descriptions have them, so JSON has to escape
+        String sentence = "We're hiring a \"senior\" engineer.\nRemote — US/EU, €90k+. ";
+        Map<String, Object> job = new LinkedHashMap<>();
+        job.put("type", "job");
+        job.put("source", "lever");
+        job.put("id", "lever-7f3c2a");
+        job.put("title", "Senior Backend Engineer, Platform");
+        job.put("company", "Acme Robotics");
+        job.put("location", "Remote (US)");
+        job.put("url", "https://jobs.lever.co/acme/7f3c2a1e-0000-4000-8000-000000000000");
+        job.put("createdAt", "2025-08-26T10:15:30Z");
+        job.put("description", sentence.repeat(descriptionChars / sentence.length() + 1).substring(0, descriptionChars));
+        job.put("tags", List.of("java", "kubernetes", "postgres", "remote"));
+        return job;
+    }
+}
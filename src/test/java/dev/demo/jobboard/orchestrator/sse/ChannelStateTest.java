@@ -0,0 +1,93 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Resuming a {@link ChannelState} from a Last-Event-ID: ten frames published into a ring of
+ * four, so ids 7-10 are buffered and 1-6 overwritten.
+ */
+class ChannelStateTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<SseFrame> sent = new CopyOnWriteArrayList<>();
+
+    @TempDir
+    Path journalDir;
+
+    @Test
+    void resumesFromAnIdStillInTheRing() {
+        ChannelState state = publishTen(new ChannelState("req:r1", 4, mapper));
+
+        assertEquals(0L, state.attach(subscriber(), 8L));
+
+        assertEquals(List.of(9L, 10L), ids(sent));
+    }
+
+    @Test
+    void reportsAGapWhenTheIdWasOverwritten() throws Exception {
+        ChannelState state = publishTen(new ChannelState("req:r1", 4, mapper));
+
+        assertEquals(3L, state.attach(subscriber(), 3L));
+
+        SseFrame gap = sent.get(0);
+        assertEquals("replayGap", gap.eventName());
+        JsonNode data = mapper.readTree(gap.dataBytes());
+        assertEquals(3L, data.get("lastEventId").asLong());
+        assertEquals(7L, data.get("oldestAvailable").asLong());
+        assertEquals(3L, data.get("missed").asLong());
+        assertEquals(List.of(7L, 8L, 9L, 10L), ids(sent.subList(1, sent.size())));
+    }
+
+    @Test
+    void readsOverwrittenFramesBackFromTheJournal() {
+        ChannelJournal journal = new ChannelJournal("req:r1", journalDir.resolve("r1"), 1 << 20);
+        ChannelState state = publishTen(new ChannelState("req:r1", 4, mapper, journal, ChannelJournal.Recovered.EMPTY, 100));
+
+        assertEquals(0L, state.attach(subscriber(), 3L));
+
+        assertEquals(List.of(4L, 5L, 6L, 7L, 8L, 9L, 10L), ids(sent));
+        journal.close();
+    }
+
+    private ChannelState publishTen(ChannelState state) {
+        for (int i = 1; i <= 10; i++) {
+            Map<String, Object> payload = Map.of("n", i);
+            state.publish("progress", null, payload, SseFrame.data(payload, mapper));
+        }
+        return state;
+    }
+
+    // Writes on the calling thread, so frames reach the sink before attach returns
+    private SseSubscriber subscriber() {
+        SseSink sink = new SseSink() {
+            @Override
+            public boolean ready() {
+                return true;
+            }
+
+            @Override
+            public void send(SseFrame frame) {
+                sent.add(frame);
+            }
+
+            @Override
+            public void complete() {}
+        };
+        return new SseSubscriber("req:r1", sink, 64, OverflowPolicy.DROP_OLDEST, Runnable::run, null, null, null, false);
+    }
+
+    private static List<Long> ids(List<SseFrame> frames) {
+        return frames.stream().map(SseFrame::id).toList();
+    }
+}
@@ -0,0 +1,144 @@
+package dev.demo.jobboard.orchestrator.sse;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares SSE fan-out cost of serializing per subscriber (what SseEmitter.send did through
+ * the MVC converters) against encoding one {@link SseFrame} and writing its bytes N times.
+ *
+ * Not a unit test. Run after {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *   dev.demo.jobboard.orchestrator.sse.SseFanOutBenchmark
+ * </pre>
+ */
+public class SseFanOutBenchmark {
+
+    private static final int[] SUBSCRIBERS = {1, 10, 1000};
+    private static final long TARGET_WRITES = 2_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        Map<String, Object> payloads = new LinkedHashMap<>();
+        payloads.put("crawl job (JsonNode)", crawlEvent(mapper));
+        payloads.put("analysisComplete (Map)", analysisComplete());
+
+        MappingJackson2HttpMessageConverter json = new MappingJackson2HttpMessageConverter(mapper);
+        ByteArrayHttpMessageConverter raw = new ByteArrayHttpMessageConverter();
+        HttpOutputMessage sink = new DiscardingOutputMessage();
+
+        System.out.printf("%-24s %6s %14s %14s %14s %14s%n",
+            "payload", "subs", "old ns/event", "new ns/event", "old B/event", "new B/event");
+        for (Map.Entry<String, Object> e : payloads.entrySet()) {
+            Object payload = e.getValue();
+            for (int subs : SUBSCRIBERS) {
+                int events = (int) Math.max(50, TARGET_WRITES / subs / 10);
+
+                Runnable perSubscriber = () -> {
+                    try {
+                        for (int s = 0; s < subs; s++) {
+                            json.write(payload, MediaType.APPLICATION_JSON, sink);
+                        }
+                    } catch (Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                };
+                Runnable serializeOnce = () -> {
+                    try {
+                        SseFrame frame = SseFrame.event(1L, "crawl", SseFrame.data(payload, mapper));
+                        for (int s = 0; s < subs; s++) {
+                            raw.write(frame.bytes(), MediaType.APPLICATION_OCTET_STREAM, sink);
+                        }
+                    } catch (Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                };
+
+                // Warm both paths before measuring
+                run(perSubscriber, events / 2);
+                run(serializeOnce, events / 2);
+
+                long[] oldCost = measure(threads, perSubscriber, events);
+                long[] newCost = measure(threads, serializeOnce, events);
+                System.out.printf("%-24s %6d %14d %14d %14d %14d%n",
+                    e.getKey(), subs, oldCost[0], newCost[0], oldCost[1], newCost[1]);
+            }
+        }
+    }
+
+    /** @return {cpu ns per event, allocated bytes per event} */
+    private static long[] measure(com.sun.management.ThreadMXBean threads, Runnable body, int events) {
+        long cpu0 = threads.getCurrentThreadCpuTime();
+        long alloc0 = threads.getCurrentThreadAllocatedBytes();
+        run(body, events);
+        long cpu = threads.getCurrentThreadCpuTime() - cpu0;
+        long alloc = threads.getCurrentThreadAllocatedBytes() - alloc0;
+        return new long[] {cpu / events, alloc / events};
+    }
+
+    private static void run(Runnable body, int events) {
+        for (int i = 0; i < events; i++) {
+            body.run();
+        }
+    }
+
+    private static JsonNode crawlEvent(ObjectMapper mapper) throws Exception {
+        Map<String, Object> job = new LinkedHashMap<>();
+        job.put("type", "job");
+        job.put("source", "lever");
+        job.put("id", "lever-7f3c2a");
+        job.put("title", "Senior Backend Engineer, Platform");
+        job.put("company", "Acme Robotics");
+        job.put("location", "Remote (US)");
+        job.put("url", "https://jobs.lever.co/acme/7f3c2a1e-0000-4000-8000-000000000000");
+        job.put("createdAt", "2025-08-26T10:15:30Z");
+        job.put("description", "We are hiring. ".repeat(60));
+        job.put("tags", List.of("java", "kubernetes", "postgres", "remote"));
+        return mapper.valueToTree(job);
+    }
+
+    private static Map<String, Object> analysisComplete() {
+        String resume = "Experienced engineer with Java, Spring, AWS and Kubernetes. ".repeat(120);
+        return Map.of(
+            "kind", "analysisComplete",
+            "stage", "complete",
+            "results", Map.of(
+                "resume", "TAILORED RESUME\n\n" + resume,
+                "coverLetter", "TAILORED COVER LETTER\n\n" + resume,
+                "atsScore", 72,
+                "insights", List.of("Average match score: 72.0%", "Analyzed 200 job opportunities")
+            )
+        );
+    }
+
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+        private final OutputStream body = OutputStream.nullOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            // Fresh headers per write, as the streaming response wrapper does once committed
+            return new HttpHeaders();
+        }
+    }
+}